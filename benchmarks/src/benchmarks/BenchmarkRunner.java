@@ -0,0 +1,57 @@
+package benchmarks;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import util.GeneralConstants;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Точка входа набора замеров. Принимает обычные аргументы JMH
+ * ({@code -p threads=4}, {@code -f 2}, регулярное выражение имени замера и т.п.),
+ * но если формат результата не задан, сохраняет его в JSON ({@value #DEFAULT_RESULT}),
+ * чтобы результаты разных версий можно было сравнивать.
+ * Если профилировщики не заданы ключом {@code -prof}, подключается {@link GCProfiler}: каждый замер
+ * дополняется выделением памяти на операцию ({@code gc.alloc.rate.norm}, байт на операцию).
+ * <p>
+ * Запускается из корня проекта: справочник видов {@code info.json} читается по относительному пути.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class BenchmarkRunner
+{
+    private static final String DEFAULT_RESULT = "jmh-result.json";
+
+    public static void main(String[] args) throws CommandLineOptionException, RunnerException
+    {
+        if (!Files.exists(Path.of(GeneralConstants.INFO_PATH)))
+        {
+            System.err.println("Не найден " + GeneralConstants.INFO_PATH + " — запустите замеры из корня проекта");
+            System.exit(1);
+        }
+
+        CommandLineOptions options = new CommandLineOptions(args);
+        ChainedOptionsBuilder builder = new OptionsBuilder().parent(options);
+        if (!options.getResultFormat().hasValue())
+        {
+            builder.resultFormat(ResultFormatType.JSON);
+            if (!options.getResult().hasValue())
+            {
+                builder.result(DEFAULT_RESULT);
+            }
+        }
+        if (options.getProfilers().isEmpty())
+        {
+            builder.addProfiler(GCProfiler.class);
+        }
+        new Runner(builder.build()).run();
+    }
+}
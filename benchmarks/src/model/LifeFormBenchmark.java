@@ -0,0 +1,77 @@
+package model;
+
+import model.main.Cell;
+import model.main.LifeFormFactory;
+import model.properties.Encyclopedia;
+import model.properties.Registry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замеры жизненных действий существа {@link LifeForm}: рост, питание и размножение.
+ * <p>
+ * Каждое действие меняет состояние существа (насыщение, флаги, смерть), поэтому перед каждым вызовом
+ * замера создаётся свежая партия из {@value #BATCH} клеток, а результат делится на размер партии.
+ * В каждой клетке живут волк и два кролика.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@OperationsPerInvocation(LifeFormBenchmark.BATCH)
+@State(Scope.Thread)
+public class LifeFormBenchmark
+{
+    static final int BATCH = 256;
+
+    private final LifeForm[] wolves = new LifeForm[BATCH];
+    private final LifeForm[] rabbits = new LifeForm[BATCH];
+    private final LifeForm[] partners = new LifeForm[BATCH];
+
+    private long seed;
+
+    @Setup(Level.Invocation)
+    public void populate()
+    {
+        double wolfSaturation = Registry.getMaxSaturationLevel(Encyclopedia.WOLF) / 2;
+        double rabbitSaturation = Registry.getMaxSaturationLevel(Encyclopedia.RABBIT);
+        for (int i = 0; i < BATCH; i++)
+        {
+            Cell cell = new Cell(i, 0);
+            cell.resetRandom(seed++);
+            wolves[i] = (LifeForm) LifeFormFactory.create(Encyclopedia.WOLF, cell, 0.0, wolfSaturation);
+            rabbits[i] = (LifeForm) LifeFormFactory.create(Encyclopedia.RABBIT, cell, 0.0, rabbitSaturation);
+            partners[i] = (LifeForm) LifeFormFactory.create(Encyclopedia.RABBIT, cell, 0.0, rabbitSaturation);
+        }
+    }
+
+    @Benchmark
+    public void grow()
+    {
+        for (LifeForm wolf : wolves)
+        {
+            wolf.grow();
+        }
+    }
+
+    @Benchmark
+    public void consume(Blackhole blackhole)
+    {
+        for (LifeForm wolf : wolves)
+        {
+            blackhole.consume(wolf.consume());
+        }
+    }
+
+    @Benchmark
+    public void reproduce(Blackhole blackhole)
+    {
+        for (int i = 0; i < BATCH; i++)
+        {
+            blackhole.consume(rabbits[i].reproduce(partners[i]));
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package model.main;
+
+import model.properties.Encyclopedia;
+import model.properties.Registry;
+import org.openjdk.jmh.annotations.*;
+import util.SimulationConfig;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замер цикла размножения {@link Island#simulate()} на острове с заданным количеством существ.
+ * <p>
+ * Стандартное заселение растёт с периметром острова, поэтому здесь остров заселяется напрямую:
+ * сторона подбирается так, чтобы на клетку приходилось около {@value #DENSITY} существ
+ * (как при стандартном заселении острова 20x20), а виды делятся пропорционально лимиту особей в клетке.
+ * Перед каждой итерацией остров заселяется заново, а номер цикла сбрасывается на цикл размножения.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = {"--enable-preview", "-Xmx3g"})
+@State(Scope.Thread)
+public class BreedingCycleBenchmark
+{
+    private static final int DENSITY = 8;
+
+    @Param({"10000", "100000", "1000000"})
+    private int creatures;
+
+    private Island island;
+
+    @Setup(Level.Iteration)
+    public void populate()
+    {
+        int size = (int) Math.ceil(Math.sqrt((double) creatures / DENSITY));
+        island = new Island(SimulationConfig.load(new String[]{
+                "--length=" + size,
+                "--height=" + size,
+                "--render=HEADLESS",
+                "--seed=42"}));
+
+        long totalCellAmount = 0;
+        for (Encyclopedia species : Encyclopedia.values())
+        {
+            totalCellAmount += Registry.getMaxCellAmount(species);
+        }
+        SplittableRandom random = new SplittableRandom(42);
+        for (Encyclopedia species : Encyclopedia.values())
+        {
+            long amount = creatures * Registry.getMaxCellAmount(species) / totalCellAmount;
+            double maxAge = Registry.getMaxAge(species);
+            double maxSaturation = Registry.getMaxSaturationLevel(species);
+            for (long i = 0; i < amount; i++)
+            {
+                LifeFormFactory.create(species, island.getCell(random.nextInt(size), random.nextInt(size)),
+                        random.nextDouble(maxAge), random.nextDouble(maxSaturation));
+            }
+        }
+        Statistics.restoreCycle(0);
+    }
+
+    @TearDown(Level.Iteration)
+    public void shutdown()
+    {
+        island.shutdown();
+    }
+
+    @Benchmark
+    public void breedingCycle()
+    {
+        island.simulate();
+    }
+}
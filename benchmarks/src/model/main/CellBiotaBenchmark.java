@@ -0,0 +1,142 @@
+package model.main;
+
+import model.Living;
+import model.properties.Encyclopedia;
+import model.properties.Registry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замеры хранилища существ клетки {@link CellBiota}: добавление и удаление по слоту,
+ * выбор случайной добычи по битовой маске рациона и снимок особей одного вида.
+ * <p>
+ * Для сравнения рядом замеряется прежнее хранилище — карта "вид → {@link CopyOnWriteArrayList}"
+ * ({@link #copyOnWrite}) — на тех же операциях и на типичной нагрузке клетки за один цикл
+ * ({@link #cycleSlotBag()} и {@link #cycleCopyOnWrite()}). Выделение памяти на операцию
+ * ({@code gc.alloc.rate.norm}) выводится профилировщиком {@code -prof gc}, который
+ * {@code BenchmarkRunner} подключает по умолчанию.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Thread)
+public class CellBiotaBenchmark
+{
+    /**
+     * Из клетки за цикл уходит и возвращается каждая N-я особь.
+     */
+    private static final int MOVING_EVERY = 4;
+
+    /**
+     * Количество кроликов в клетке (максимум для вида — 150).
+     */
+    @Param({"8", "64", "140"})
+    private int population;
+
+    private Cell cell;
+    private Living visitor;
+    private long wolfDiet;
+
+    /**
+     * Хранилище клетки до перехода на {@link LivingBag}: список вида копируется при каждом изменении.
+     */
+    private Map<Encyclopedia, List<Living>> copyOnWrite;
+
+    @Setup
+    public void setUp()
+    {
+        cell = new Cell(0, 0);
+        cell.resetRandom(42);
+        copyOnWrite = new ConcurrentHashMap<>();
+        double saturation = Registry.getMaxSaturationLevel(Encyclopedia.RABBIT);
+        for (int i = 0; i < population; i++)
+        {
+            Living rabbit = LifeFormFactory.create(Encyclopedia.RABBIT, cell, 0.0, saturation);
+            copyOnWrite.computeIfAbsent(Encyclopedia.RABBIT, _ -> new CopyOnWriteArrayList<>()).add(rabbit);
+        }
+        visitor = LifeFormFactory.createNewborn(Encyclopedia.WOLF, cell);
+        wolfDiet = Registry.getEdibleMask(Encyclopedia.WOLF);
+    }
+
+    @Benchmark
+    public void addRemove()
+    {
+        cell.addLivingBeing(visitor);
+        cell.removeLivingBeing(visitor);
+    }
+
+    @Benchmark
+    public void addRemoveCopyOnWrite()
+    {
+        copyOnWrite.computeIfAbsent(Encyclopedia.WOLF, _ -> new CopyOnWriteArrayList<>()).add(visitor);
+        List<Living> wolves = copyOnWrite.get(Encyclopedia.WOLF);
+        wolves.remove(visitor);
+        if (wolves.isEmpty())
+        {
+            copyOnWrite.remove(Encyclopedia.WOLF);
+        }
+    }
+
+    /**
+     * Попытка питания: выбор добычи по маске рациона. Не создаёт объектов —
+     * {@code gc.alloc.rate.norm} при любой численности равен 0 байт на операцию.
+     */
+    @Benchmark
+    public Living getRandomLiving()
+    {
+        return cell.getRandomLiving(wolfDiet, visitor);
+    }
+
+    @Benchmark
+    public List<Living> getLivingBeings()
+    {
+        return cell.getLivingBeings(Encyclopedia.RABBIT);
+    }
+
+    @Benchmark
+    public List<Living> getLivingBeingsCopyOnWrite()
+    {
+        return new CopyOnWriteArrayList<>(copyOnWrite.get(Encyclopedia.RABBIT));
+    }
+
+    /**
+     * Нагрузка клетки за цикл: снимок вида для обхода, затем каждая {@value #MOVING_EVERY}-я особь
+     * уходит из клетки и возвращается (перемещение в клетку и из неё).
+     */
+    @Benchmark
+    public int cycleSlotBag()
+    {
+        List<Living> rabbits = cell.getLivingBeings(Encyclopedia.RABBIT);
+        for (int i = 0; i < rabbits.size(); i += MOVING_EVERY)
+        {
+            Living rabbit = rabbits.get(i);
+            cell.removeLivingBeing(rabbit);
+            cell.addLivingBeing(rabbit);
+        }
+        return rabbits.size();
+    }
+
+    /**
+     * То же, что {@link #cycleSlotBag()}, на прежнем хранилище.
+     */
+    @Benchmark
+    public int cycleCopyOnWrite()
+    {
+        List<Living> stored = copyOnWrite.get(Encyclopedia.RABBIT);
+        List<Living> rabbits = new CopyOnWriteArrayList<>(stored);
+        for (int i = 0; i < rabbits.size(); i += MOVING_EVERY)
+        {
+            Living rabbit = rabbits.get(i);
+            stored.remove(rabbit);
+            stored.add(rabbit);
+        }
+        return rabbits.size();
+    }
+}
@@ -0,0 +1,133 @@
+package model.main;
+
+import model.properties.Encyclopedia;
+import model.properties.Registry;
+import org.openjdk.jmh.annotations.*;
+import util.SimulationConfig;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замер полного цикла симуляции {@link Island#simulate()} (MOVE, SETTLE, LIVE и сбор статистики)
+ * для разных размеров острова, количества потоков, движков и размеров участка.
+ * Участок в одну клетку ({@code tile=1}) даёт наибольшее число мелких задач и сильнее всего нагружает
+ * планировщик и барьер — на нём видна разница между пулом платформенных потоков и виртуальными потоками.
+ * <p>
+ * Население острова за несколько десятков циклов заметно меняется, поэтому каждая итерация
+ * начинается с заново заселённого острова с одним и тем же зерном и замеряет {@value #CYCLES} циклов подряд.
+ * Поле не отрисовывается.
+ * <p>
+ * Заселение {@code CORNER} помещает всех существ в один угловой участок автоматического размера —
+ * на такой неравномерной нагрузке видно, насколько пул потоков с участками (POOL) простаивает
+ * на барьере по сравнению с кражей работы (FORK_JOIN). Простой одного потока на барьерах за итерацию
+ * выводится вспомогательным счётчиком {@link BarrierWait#barrierWaitMillis} (у VIRTUAL не замеряется).
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, batchSize = IslandCycleBenchmark.CYCLES)
+@Measurement(iterations = 10, batchSize = IslandCycleBenchmark.CYCLES)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Thread)
+public class IslandCycleBenchmark
+{
+    static final int CYCLES = 10;
+
+    /**
+     * Сторона квадратного острова в клетках.
+     */
+    @Param({"20", "100", "200"})
+    private int size;
+
+    @Param({"1", "4", "8"})
+    private int threads;
+
+    @Param({"POOL", "FORK_JOIN", "VIRTUAL"})
+    private String engine;
+
+    /**
+     * Сторона участка: 0 — подобрать автоматически, 1 — задача на каждую клетку.
+     */
+    @Param({"0", "1"})
+    private int tile;
+
+    /**
+     * UNIFORM — стандартное заселение всего острова, CORNER — те же численности в одном угловом участке.
+     */
+    @Param({"UNIFORM", "CORNER"})
+    private String population;
+
+    private Island island;
+
+    @Setup(Level.Iteration)
+    public void populate()
+    {
+        island = new Island(SimulationConfig.load(new String[]{
+                "--length=" + size,
+                "--height=" + size,
+                "--threads=" + threads,
+                "--engine=" + engine,
+                "--tile=" + tile,
+                "--render=HEADLESS",
+                "--seed=42"}));
+        if (population.equals("CORNER"))
+        {
+            populateCorner(TileScheduler.chooseTileSize(size * size, threads));
+        }
+        else
+        {
+            island.populateRandomly();
+        }
+    }
+
+    /**
+     * Заселяет квадрат в верхнем левом углу острова стандартным количеством существ каждого вида.
+     *
+     * @param side сторона квадрата в клетках
+     */
+    private void populateCorner(int side)
+    {
+        SplittableRandom random = new SplittableRandom(42);
+        for (Encyclopedia species : Encyclopedia.values())
+        {
+            int startAmount = Registry.getStartAmount(species, size, size);
+            double maxAge = Registry.getMaxAge(species);
+            double maxSaturation = Registry.getMaxSaturationLevel(species);
+            for (int i = 0; i < startAmount; i++)
+            {
+                LifeFormFactory.create(species, island.getCell(random.nextInt(side), random.nextInt(side)),
+                        random.nextDouble(maxAge), random.nextDouble(maxSaturation));
+            }
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void shutdown()
+    {
+        island.shutdown();
+    }
+
+    @Benchmark
+    public void simulate(BarrierWait barrierWait)
+    {
+        island.simulate();
+        barrierWait.barrierWaitMillis += island.getMetrics().getLastBarrierWaitMillis();
+    }
+
+    /**
+     * Вспомогательный счётчик JMH: средний простой одного потока на барьерах всех этапов
+     * за итерацию по {@link EngineStatistics} движка.
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class BarrierWait
+    {
+        public double barrierWaitMillis;
+
+        @Setup(Level.Iteration)
+        public void reset()
+        {
+            barrierWaitMillis = 0;
+        }
+    }
+}
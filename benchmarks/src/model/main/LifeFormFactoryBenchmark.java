@@ -0,0 +1,43 @@
+package model.main;
+
+import model.Living;
+import model.properties.Encyclopedia;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замер создания существ через кэш конструкторов {@link LifeFormFactory}.
+ * Существа не добавляются в клетку, поэтому измеряется только вызов конструктора через {@code MethodHandle}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Thread)
+public class LifeFormFactoryBenchmark
+{
+    @Param({"WOLF", "RABBIT", "GRASS"})
+    private Encyclopedia livingBeing;
+
+    private Cell cell;
+
+    @Setup
+    public void setUp()
+    {
+        cell = new Cell(0, 0);
+    }
+
+    @Benchmark
+    public Living createNewborn()
+    {
+        return LifeFormFactory.createNewborn(livingBeing, cell);
+    }
+
+    @Benchmark
+    public Living createDetached()
+    {
+        return LifeFormFactory.createDetached(livingBeing, cell, 1.0, 1.0);
+    }
+}
@@ -0,0 +1,113 @@
+package model.main;
+
+import model.Living;
+import model.Mobile;
+import model.properties.Encyclopedia;
+import model.properties.Registry;
+import org.openjdk.jmh.annotations.*;
+import util.SimulationConfig;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замер передвижения животных в том виде, в котором его выполняют этапы MOVE и SETTLE:
+ * выбор клетки назначения ({@link Mobile#chooseDestination()}), уход из клетки,
+ * запись прибытия и фиксация всех прибытий острова.
+ * <p>
+ * Перед каждым вызовом на остров выпускается свежая партия из {@value #BATCH} волков с полным насыщением,
+ * после вызова они убираются, поэтому состав острова от вызова к вызову не меняется.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@OperationsPerInvocation(MovementBenchmark.BATCH)
+@State(Scope.Thread)
+public class MovementBenchmark
+{
+    static final int BATCH = 256;
+
+    private Island island;
+    private final Living[] wolves = new Living[BATCH];
+    private final Cell[] origins = new Cell[BATCH];
+
+    private long seed;
+
+    @Setup
+    public void createIsland()
+    {
+        island = new Island(SimulationConfig.load(new String[]{
+                "--length=20", "--height=20", "--threads=1", "--render=HEADLESS", "--seed=42"}));
+    }
+
+    @TearDown
+    public void shutdown()
+    {
+        island.shutdown();
+    }
+
+    @Setup(Level.Invocation)
+    public void release()
+    {
+        double saturation = Registry.getMaxSaturationLevel(Encyclopedia.WOLF);
+        for (Cell[] cells : island.getIslandMap())
+        {
+            for (Cell cell : cells)
+            {
+                cell.resetRandom(seed);
+            }
+        }
+        seed++;
+        for (int i = 0; i < BATCH; i++)
+        {
+            Cell cell = island.getCell(i % island.getLength(), (i / island.getLength()) % island.getHeight());
+            origins[i] = cell;
+            wolves[i] = LifeFormFactory.create(Encyclopedia.WOLF, cell, 0.0, saturation);
+        }
+    }
+
+    @TearDown(Level.Invocation)
+    public void collect()
+    {
+        for (Cell[] cells : island.getIslandMap())
+        {
+            for (Cell cell : cells)
+            {
+                for (Living wolf : cell.getLivingBeings(Encyclopedia.WOLF))
+                {
+                    cell.removeLivingBeing(wolf);
+                }
+            }
+        }
+    }
+
+    @Benchmark
+    public int moveAndSettle()
+    {
+        int[] departures = new int[island.getCellsAmount()];
+        for (int i = 0; i < BATCH; i++)
+        {
+            Mobile wolf = (Mobile) wolves[i];
+            Cell origin = origins[i];
+            Cell destination = wolf.chooseDestination();
+            if (destination == origin)
+            {
+                wolf.stay();
+                continue;
+            }
+            origin.removeLivingBeing(wolves[i]);
+            destination.enqueueArrival(wolf, origin, departures[origin.getY() * island.getLength() + origin.getX()]++);
+        }
+
+        int arrived = 0;
+        for (Cell[] cells : island.getIslandMap())
+        {
+            for (Cell cell : cells)
+            {
+                arrived += cell.settleArrivals();
+            }
+        }
+        return arrived;
+    }
+}
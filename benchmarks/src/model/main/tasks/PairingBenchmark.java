@@ -0,0 +1,58 @@
+package model.main.tasks;
+
+import model.Living;
+import model.main.Cell;
+import model.main.LifeFormFactory;
+import model.properties.Encyclopedia;
+import model.properties.Registry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замер этапа размножения одной клетки {@link PairingStage}: отбор готовых к размножению,
+ * перемешивание, зачатие потомства парами и добавление новорождённых в клетку.
+ * <p>
+ * После размножения особи помечены как размножившиеся, поэтому клетка заселяется заново перед каждым вызовом.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Thread)
+public class PairingBenchmark
+{
+    /**
+     * Количество кроликов в клетке; вместе с потомством не превышает лимит вида (150).
+     */
+    @Param({"16", "64", "100"})
+    private int population;
+
+    private final PairingStage pairingStage = new PairingStage();
+
+    private Cell cell;
+    private List<Living> rabbits;
+    private long seed;
+
+    @Setup(Level.Invocation)
+    public void populate()
+    {
+        cell = new Cell(0, 0);
+        cell.resetRandom(seed++);
+        double saturation = Registry.getMaxSaturationLevel(Encyclopedia.RABBIT);
+        for (int i = 0; i < population; i++)
+        {
+            LifeFormFactory.create(Encyclopedia.RABBIT, cell, 0.0, saturation);
+        }
+        rabbits = cell.getLivingBeings(Encyclopedia.RABBIT);
+    }
+
+    @Benchmark
+    public int pairAndRelease()
+    {
+        pairingStage.pair(rabbits, cell.getRandom());
+        return pairingStage.release(cell);
+    }
+}
@@ -0,0 +1,68 @@
+package model.properties;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Замеры чтения параметров видов из {@link Registry}: отдельные характеристики
+ * и шанс поедания по матрице хищник × добыча.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = "--enable-preview")
+@State(Scope.Thread)
+public class RegistryBenchmark
+{
+    private static final Encyclopedia[] SPECIES = Encyclopedia.values();
+
+    private int predator;
+    private int prey;
+
+    @Setup
+    public void setUp()
+    {
+        predator = 0;
+        prey = SPECIES.length / 2;
+    }
+
+    @Benchmark
+    public void speciesProperties(Blackhole blackhole)
+    {
+        Encyclopedia type = next();
+        blackhole.consume(Registry.getWeight(type));
+        blackhole.consume(Registry.getMaxSpeed(type));
+        blackhole.consume(Registry.getMaxAge(type));
+        blackhole.consume(Registry.getMaxSaturationLevel(type));
+        blackhole.consume(Registry.getMaxCellAmount(type));
+    }
+
+    @Benchmark
+    public int eatingChances()
+    {
+        Encyclopedia type = next();
+        return Registry.getEatingChances(type, SPECIES[prey]);
+    }
+
+    @Benchmark
+    public long edibleMask()
+    {
+        return Registry.getEdibleMask(next());
+    }
+
+    /**
+     * Перебирает пары видов по кругу, чтобы обращения не сворачивались в константу.
+     */
+    private Encyclopedia next()
+    {
+        predator = predator + 1 == SPECIES.length ? 0 : predator + 1;
+        if (predator == 0)
+        {
+            prey = prey + 1 == SPECIES.length ? 0 : prey + 1;
+        }
+        return SPECIES[predator];
+    }
+}
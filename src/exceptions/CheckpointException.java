@@ -0,0 +1,9 @@
+package exceptions;
+
+public class CheckpointException extends RuntimeException
+{
+    public CheckpointException(String message)
+    {
+        super(message);
+    }
+}
@@ -1,9 +0,0 @@
-package exceptions;
-
-public class JsonMapConvertingException extends RuntimeException
-{
-    public JsonMapConvertingException(String message)
-    {
-        super(message);
-    }
-}
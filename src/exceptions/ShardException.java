@@ -0,0 +1,9 @@
+package exceptions;
+
+public class ShardException extends RuntimeException
+{
+    public ShardException(String message)
+    {
+        super(message);
+    }
+}
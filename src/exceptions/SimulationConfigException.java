@@ -0,0 +1,9 @@
+package exceptions;
+
+public class SimulationConfigException extends RuntimeException
+{
+    public SimulationConfigException(String message)
+    {
+        super(message);
+    }
+}
@@ -0,0 +1,9 @@
+package exceptions;
+
+public class SpeciesCatalogException extends RuntimeException
+{
+    public SpeciesCatalogException(String message)
+    {
+        super(message);
+    }
+}
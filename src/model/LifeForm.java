@@ -1,6 +1,7 @@
 package model;
 
-import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
 import model.animals.Animal;
 import model.main.Cell;
 import model.main.LifeFormFactory;
@@ -10,8 +11,7 @@ import model.properties.Encyclopedia;
 import util.GeneralConstants;
 import model.properties.Registry;
 
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.random.RandomGenerator;
 
 /**
  * Абстрактный базовый класс, представляющий живое существо (животное, растение и т.п.) в симуляции острова.
@@ -23,14 +23,27 @@ import java.util.concurrent.locks.ReentrantLock;
  * Хранит координаты текущего положения, а также взаимодействует с клеткой {@link Cell}, в которой находится.
  * Каждое существо имеет уникальные характеристики, определяемые через {@link Registry} и {@link Encyclopedia}.
  */
-@EqualsAndHashCode()
 public abstract class LifeForm implements Living, Consumable
 {
-    protected ReentrantLock lock = new ReentrantLock();
+    /**
+     * Постоянный уникальный номер существа, выдаваемый {@link LifeFormFactory}.
+     * Определяет равенство существ: изменяемое состояние (возраст, насыщение, клетка) на него не влияет.
+     */
+    @Getter
+    private final long id = LifeFormFactory.nextId();
 
+    @Getter
     protected Encyclopedia livingBeingType = Encyclopedia.getLivingBeing(this.getClass());
 
+    /**
+     * Флаги состояния существа в {@link #getStateFlags()}.
+     */
+    protected static final int BRED_FLAG = 1;
+    protected static final int CONSUMED_FLAG = 1 << 1;
+
+    @Getter
     protected double age;
+    @Getter
     protected double saturationLevel;
 
 
@@ -43,6 +56,13 @@ public abstract class LifeForm implements Living, Consumable
     protected int y;
     protected Cell currentCell;
 
+    /**
+     * Слот существа в контейнере вида текущей клетки; -1, если существо ни в одной клетке не числится.
+     */
+    @Getter
+    @Setter
+    private int cellSlot = -1;
+
     /**
      * Конструктор базовой формы жизни.
      *
@@ -92,38 +112,85 @@ public abstract class LifeForm implements Living, Consumable
 
     /**
      * Пытается размножиться с другим существом такого же типа.
-     * Условия для успешного размножения:
-     * - оба существа живы,
-     * - оба не размножались в текущем цикле.
-     * Если успешно, то создаёт нового потомка и помещает его в ту же клетку.
-     * У животных также регистрирует событие в статистике.
+     * Потомок сразу помещается в ту же клетку.
      *
      * @param livingBeing потенциальный партнёр для размножения
      * @return true, если размножение произошло
+     * @see #conceive(Living)
      */
     @Override
     public boolean reproduce(Living livingBeing)
     {
-        if (!(livingBeing instanceof LifeForm partner &&
-                !isDead && !partner.isDead &&
-                !hasBred && !partner.hasBred))
+        LifeForm newborn = conceive(livingBeing);
+        if (newborn == null)
         {
             return false;
         }
+        currentCell.addLivingBeing(newborn);
+        return true;
+    }
 
-            hasBred = true;
-            partner.hasBred = true;
+    /**
+     * Пытается зачать потомка с другим существом такого же типа.
+     * Условия для успешного размножения:
+     * - партнёр — другое существо того же вида,
+     * - оба существа живы,
+     * - оба не размножались в текущем цикле.
+     * Потомок создаётся, но не помещается в клетку: это позволяет добавить всех новорождённых
+     * одной партией после обхода популяции. У животных также регистрирует событие в статистике.
+     *
+     * @param livingBeing потенциальный партнёр для размножения
+     * @return новорождённый или {@code null}, если размножение не произошло
+     */
+    public LifeForm conceive(Living livingBeing)
+    {
+        if (!(livingBeing instanceof LifeForm partner &&
+                partner != this && partner.livingBeingType == livingBeingType &&
+                canBreed() && partner.canBreed()))
+        {
+            return null;
+        }
 
+        hasBred = true;
+        partner.hasBred = true;
 
-            LifeForm newborn = (LifeForm) LifeFormFactory.createNewborn(livingBeingType, x, y);
-            newborn.hasBred = true;
-            currentCell.addLivingBeing(newborn);
-            decreaseSaturationLevel();
-            if (this instanceof Animal)
-            {
-                Statistics.registerBreeding(livingBeingType);
-            }
-        return hasBred;
+        LifeForm newborn = (LifeForm) LifeFormFactory.createNewborn(livingBeingType, currentCell);
+        newborn.hasBred = true;
+        decreaseSaturationLevel();
+        if (this instanceof Animal)
+        {
+            Statistics.registerBreeding(livingBeingType);
+        }
+        return newborn;
+    }
+
+    /**
+     * Возвращает флаги текущего цикла одним числом — для сохранения состояния острова.
+     *
+     * @return битовая маска флагов
+     */
+    public int getStateFlags()
+    {
+        return (hasBred ? BRED_FLAG : 0) | (hasConsumed ? CONSUMED_FLAG : 0);
+    }
+
+    /**
+     * Восстанавливает флаги текущего цикла, сохранённые {@link #getStateFlags()}.
+     *
+     * @param flags битовая маска флагов
+     */
+    public void restoreStateFlags(int flags)
+    {
+        hasBred = (flags & BRED_FLAG) != 0;
+        hasConsumed = (flags & CONSUMED_FLAG) != 0;
+    }
+
+    /**
+     * @return true, если существо живо и ещё не размножалось в текущем цикле
+     */
+    public boolean canBreed()
+    {
+        return !isDead && !hasBred;
     }
 
 
@@ -141,7 +208,7 @@ public abstract class LifeForm implements Living, Consumable
         {
             return false;
         }
-        ThreadLocalRandom random = ThreadLocalRandom.current();
+        RandomGenerator random = currentCell.getRandom();
         Consumable food = findFood();
 
         if (food == null)
@@ -149,10 +216,7 @@ public abstract class LifeForm implements Living, Consumable
             return false;
         }
 
-        Integer chanceObj = getCurrentEatingChances(food);
-        int eatingChance = (chanceObj == null ? 0 : chanceObj);
-
-        if (random.nextInt(100) < eatingChance)
+        if (random.nextInt(100) < getCurrentEatingChances(food))
         {
             return increaseSaturationLevel(food);
         }
@@ -160,6 +224,18 @@ public abstract class LifeForm implements Living, Consumable
         return false;
     }
 
+    @Override
+    public boolean equals(Object o)
+    {
+        return this == o || (o instanceof LifeForm lifeForm && id == lifeForm.id);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        return Long.hashCode(id);
+    }
+
     /**
      * Абстрактный метод поиска пищи.
      * Должен быть реализован в конкретных классах (травоядные, хищники и т.п.).
@@ -222,12 +298,11 @@ public abstract class LifeForm implements Living, Consumable
      * @param food объект пищи
      * @return шанс в процентах (0–100)
      */
-    protected Integer getCurrentEatingChances(Consumable food)
+    protected int getCurrentEatingChances(Consumable food)
     {
         if (food instanceof Animal animal)
         {
-            Encyclopedia prey = Encyclopedia.getLivingBeing(animal.getClass());
-            return Registry.getEatingChances(livingBeingType, prey);
+            return Registry.getEatingChances(livingBeingType, animal.getLivingBeingType());
         }
         else
         {
@@ -1,9 +1,34 @@
 package model;
+
+import model.main.Cell;
+
 /**
  * Интерфейс для объектов, способных к передвижению.
  * Обычно используется для животных.
+ * <p>
+ * Передвижение выполняется в два этапа, чтобы не захватывать блокировки двух клеток сразу:
+ * сначала каждое существо выбирает клетку назначения ({@link #chooseDestination()}),
+ * затем клетка назначения фиксирует всех прибывших ({@link #arrive(Cell)}).
  */
 public interface Mobile
 {
-    void move();
+    /**
+     * Выбирает клетку, в которую существо переместится в этом цикле. Состояние существа не меняется.
+     *
+     * @return клетка назначения (может совпадать с текущей) или {@code null}, если существо не перемещается
+     */
+    Cell chooseDestination();
+
+    /**
+     * Фиксирует перемещение в клетку назначения: существо добавляется в её биоту.
+     * Вызывается потоком, обрабатывающим клетку назначения.
+     *
+     * @param destination клетка назначения
+     */
+    void arrive(Cell destination);
+
+    /**
+     * Фиксирует, что существо осталось в текущей клетке.
+     */
+    void stay();
 }
@@ -1,7 +1,7 @@
 package model.animals;
 
 
-import lombok.EqualsAndHashCode;
+import model.Consumable;
 import model.LifeForm;
 import model.Mobile;
 import model.main.Cell;
@@ -10,19 +10,18 @@ import model.properties.DeathCause;
 import model.properties.Registry;
 
 import java.util.List;
-import java.util.concurrent.ThreadLocalRandom;
-import java.util.concurrent.TimeUnit;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.random.RandomGenerator;
 
 /**
  * Абстрактный класс, представляющий животных на острове.
  * Расширяет {@link LifeForm} и реализует интерфейс {@link Mobile}.
  * Добавляет логику передвижения и отслеживания факта перемещения.
- * Поддерживает потокобезопасное перемещение между клетками с помощью {@link ReentrantLock}.
+ * Перемещение двухэтапное (см. {@link Mobile}) и не требует блокировок клеток.
  */
-@EqualsAndHashCode(callSuper = true)
 public abstract class Animal extends LifeForm implements Mobile
 {
+    private static final int MOVED_FLAG = 1 << 2;
+
     boolean hasMoved;
     /**
      * Создает животное с заданными параметрами.
@@ -38,54 +37,44 @@ public abstract class Animal extends LifeForm implements Mobile
     }
 
     /**
-     * Выполняет попытку перемещения животного на новую клетку.
-     * Использует неблокирующую синхронизацию с ограничением по времени, чтобы избежать дедлоков.
-     * Обновляет положение, координаты и уменьшает уровень насыщения.
+     * Выбирает клетку назначения: случайное количество шагов по соседним клеткам, зависящее от скорости.
+     * Ничего не меняет ни в животном, ни в клетках, поэтому может выполняться параллельно без блокировок.
+     *
+     * @return клетка назначения или {@code null}, если животное уже перемещалось в этом цикле или мертво
      */
     @Override
-    public void move() {
-        if (hasMoved) return;
-
-        Cell from = currentCell;
-        Cell to = getNewCell();
-
-        // Порядок захвата локов
-        Cell first = System.identityHashCode(from) < System.identityHashCode(to) ? from : to;
-        Cell second = (from == first) ? to : from;
-
-        ReentrantLock firstLock = first.getLock();
-        ReentrantLock secondLock = second.getLock();
-
-        boolean firstAcquired = false;
-        boolean secondAcquired = false;
-
-        try {
-            // Попробовать захватить первый лок
-            firstAcquired = firstLock.tryLock(10, TimeUnit.MILLISECONDS);
-            if (!firstAcquired) return;
-
-            // Попробовать захватить второй лок
-            secondAcquired = secondLock.tryLock(10, TimeUnit.MILLISECONDS);
-            if (!secondAcquired) return;
-
-            // Переместиться
-            changeHabitat(to);
-
-        } catch (InterruptedException _) {
-            Thread.currentThread().interrupt();
-        } finally {
-            if (secondAcquired) secondLock.unlock();
-            if (firstAcquired) firstLock.unlock();
+    public Cell chooseDestination()
+    {
+        if (hasMoved || isDead)
+        {
+            return null;
         }
+        return getNewCell();
     }
 
-    private void changeHabitat(Cell destination)
+    /**
+     * Завершает перемещение: животное попадает в биоту клетки назначения,
+     * обновляет координаты и теряет часть насыщения.
+     *
+     * @param destination клетка назначения
+     */
+    @Override
+    public void arrive(Cell destination)
     {
-        currentCell.removeLivingBeing(this);
         currentCell = destination;
+        x = destination.getX();
+        y = destination.getY();
+        hasMoved = true;
         currentCell.addLivingBeing(this);
-        x = currentCell.getX();
-        y = currentCell.getY();
+        decreaseSaturationLevel();
+    }
+
+    /**
+     * Животное остаётся на месте, но всё равно тратит насыщение на этапе передвижения.
+     */
+    @Override
+    public void stay()
+    {
         hasMoved = true;
         decreaseSaturationLevel();
     }
@@ -114,6 +103,19 @@ public abstract class Animal extends LifeForm implements Mobile
         hasConsumed = false;
     }
 
+    @Override
+    public int getStateFlags()
+    {
+        return super.getStateFlags() | (hasMoved ? MOVED_FLAG : 0);
+    }
+
+    @Override
+    public void restoreStateFlags(int flags)
+    {
+        super.restoreStateFlags(flags);
+        hasMoved = (flags & MOVED_FLAG) != 0;
+    }
+
     /**
      * Пытается найти новую клетку для перемещения.
      * Новая клетка выбирается случайным образом, количество шагов зависит от скорости.
@@ -122,7 +124,7 @@ public abstract class Animal extends LifeForm implements Mobile
      */
     private Cell getNewCell()
     {
-        ThreadLocalRandom random = ThreadLocalRandom.current();
+        RandomGenerator random = currentCell.getRandom();
         int maxSpeed = Registry.getMaxSpeed(livingBeingType) + 1;
         int stepsAmount = random.nextInt(maxSpeed);
         List<Cell> neighboringCells;
@@ -138,6 +140,19 @@ public abstract class Animal extends LifeForm implements Mobile
 
         return newCell;
     }
+    /**
+     * Ищет пищу в текущей клетке среди видов, входящих в рацион животного.
+     * Рацион заранее собран в битовую маску {@link Registry#getEdibleMask}, поэтому поиск не создаёт объектов.
+     *
+     * @return случайное {@link Consumable} существо, либо {@code null}, если пищи нет
+     */
+    @Override
+    protected Consumable findFood()
+    {
+        //Т.к. и животные, и растения реализуют Consumable
+        return (Consumable) currentCell.getRandomLiving(Registry.getEdibleMask(livingBeingType), this);
+    }
+
     /**
      * Пытается найти и съесть доступную пищу.
      * Если потребление успешно, обновляется статистика.
@@ -1,14 +1,12 @@
 package model.animals.carnivore;
 //Плотоядное
 
-import model.Consumable;
 import model.main.Cell;
 import model.animals.Animal;
-import model.properties.LivingBeingType;
 
 /**
  * Абстрактный класс для плотоядных животных.
- * Наследуется от {@link Animal}, реализует логику поиска животной пищи.
+ * Наследуется от {@link Animal}; рацион из других животных задаётся в конфигурации вида.
  */
 public abstract class Carnivore extends Animal
 {
@@ -24,16 +22,4 @@ public abstract class Carnivore extends Animal
     {
         super(cell, age, saturationLevel);
     }
-
-    /**
-     * Ищет жертву для питания среди других животных в текущей клетке.
-     *
-     * @return случайное {@link Consumable} животное, либо {@code null}, если пищи нет
-     */
-    @Override
-    protected Consumable findFood()
-    {
-        //Т.к. Animal реализует Consumable
-        return (Consumable) currentCell.getRandomLiving(LivingBeingType.ANIMAL.getMembers(), this);
-    }
 }
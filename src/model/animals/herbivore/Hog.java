@@ -2,11 +2,6 @@ package model.animals.herbivore;
 
 
 import model.main.Cell;
-import model.properties.Encyclopedia;
-
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
 
 public class Hog extends Herbivore
 {
@@ -14,11 +9,4 @@ public class Hog extends Herbivore
     {
         super(cell, age, saturationLevel);
     }
-
-
-    @Override
-    public Set<Encyclopedia> additionalFood()
-    {
-        return new HashSet<>(List.of(Encyclopedia.CATERPILLAR, Encyclopedia.MOUSE));
-    }
 }
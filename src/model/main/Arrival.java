@@ -0,0 +1,33 @@
+package model.main;
+
+import model.Mobile;
+
+import java.util.Comparator;
+
+/**
+ * Запись о перемещении существа в клетку, ожидающая этапа фиксации.
+ * Хранит клетку отправления и порядковый номер отправления из неё, чтобы прибытия
+ * фиксировались в одном и том же порядке независимо от того, какие потоки их записали.
+ */
+final class Arrival
+{
+    static final Comparator<Arrival> ORDER = Comparator
+            .comparingInt((Arrival arrival) -> arrival.origin.getY())
+            .thenComparingInt(arrival -> arrival.origin.getX())
+            .thenComparingInt(arrival -> arrival.sequence);
+
+    final Mobile mobile;
+    final Cell origin;
+    final int sequence;
+    /**
+     * Следующая запись в стеке прибытий клетки.
+     */
+    Arrival next;
+
+    Arrival(Mobile mobile, Cell origin, int sequence)
+    {
+        this.mobile = mobile;
+        this.origin = origin;
+        this.sequence = sequence;
+    }
+}
@@ -2,23 +2,47 @@ package model.main;
 
 
 import lombok.Getter;
+import model.LifeForm;
 import model.Living;
+import model.Mobile;
+import model.main.events.OvercrowdingEvent;
 import model.properties.Encyclopedia;
-import util.GeneralConstants;
 import model.properties.LivingBeingType;
+import util.RandomStreams;
+import util.SplitMixRandom;
 
 import java.util.*;
-import java.util.concurrent.locks.ReentrantLock;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.random.RandomGenerator;
 
 /**
  * Представляет клетку острова. Содержит всех обитателей в данной координате,
  * знает свои координаты и соседние клетки.
- * Обеспечивает потокобезопасную работу с внутренней флорой и фауной (биотой) через {@link CellBiota}.
+ * Обеспечивает потокобезопасную работу с внутренней флорой и фауной (биотой) через {@link CellBiota}
+ * и принимает прибывающих существ без блокировок до этапа фиксации перемещений.
  */
 public class Cell implements Comparable<Cell>
 {
     CellBiota biota = new CellBiota();
 
+    /**
+     * Образ контрольной точки, из которого биота клетки ещё не прочитана, или null.
+     * Клетка читается из образа при первом обращении к биоте — на этапе её обрабатывает
+     * только один поток, поэтому повторного чтения не бывает.
+     */
+    private volatile CheckpointImage pendingImage;
+
+    /**
+     * Стек прибытий текущего цикла, заполняемый без блокировок на этапе передвижения.
+     */
+    private final AtomicReference<Arrival> arrivals = new AtomicReference<>();
+
+    /**
+     * Поток случайных чисел клетки. Перезапускается перед обработкой клетки на каждом этапе
+     * и используется всеми существами клетки, поэтому результат воспроизводим при заданном зерне.
+     */
+    private final SplitMixRandom random = new SplitMixRandom(0);
+
     @Getter
     private List<Cell> neighboringCells;
 
@@ -43,15 +67,74 @@ public class Cell implements Comparable<Cell>
         this.y = y;
     }
 
+    /**
+     * Откладывает чтение биоты клетки из образа контрольной точки до первого обращения.
+     *
+     * @param image образ контрольной точки
+     */
+    void deferMaterialization(CheckpointImage image)
+    {
+        pendingImage = image;
+    }
+
+    /**
+     * Читает биоту клетки из образа контрольной точки, если это ещё не сделано.
+     */
+    void ensureMaterialized()
+    {
+        CheckpointImage image = pendingImage;
+        if (image != null)
+        {
+            pendingImage = null;
+            image.materialize(this);
+        }
+    }
+
+    CellBiota getBiota()
+    {
+        ensureMaterialized();
+        return biota;
+    }
+
+    /**
+     * Перезапускает поток случайных чисел клетки для нового этапа.
+     *
+     * @param phaseSeed зерно этапа из {@link RandomStreams#phaseSeed(int, int)}
+     */
+    public void resetRandom(long phaseSeed)
+    {
+        random.reset(RandomStreams.cellSeed(phaseSeed, x, y));
+    }
+
+    /**
+     * @return поток случайных чисел клетки на текущем этапе
+     */
+    public RandomGenerator getRandom()
+    {
+        return random;
+    }
+
     /**
      * Добавляет живое существо в текущую клетку.
      * Делегирует добавление объекту {@link CellBiota}.
+     * Отказ из-за перенаселённости записывается событием {@link OvercrowdingEvent}, если оно включено.
      *
      * @param living добавляемое существо
      */
     public void addLivingBeing(Living living)
     {
-        biota.addLivingBeing(living);
+        if (getBiota().addLivingBeing(living))
+        {
+            return;
+        }
+        OvercrowdingEvent event = new OvercrowdingEvent();
+        if (event.shouldCommit())
+        {
+            event.species = ((LifeForm) living).getLivingBeingType().name();
+            event.x = x;
+            event.y = y;
+            event.commit();
+        }
     }
 
     /**
@@ -61,7 +144,7 @@ public class Cell implements Comparable<Cell>
      */
     public void removeLivingBeing(Living living)
     {
-        biota.removeLivingBeing(living);
+        getBiota().removeLivingBeing(living);
     }
 
     /**
@@ -72,7 +155,7 @@ public class Cell implements Comparable<Cell>
      */
     public List<Living> getLivingBeings(Encyclopedia livingBeing)
     {
-        return biota.getLivingBeings(livingBeing);
+        return getBiota().getLivingBeings(livingBeing);
     }
 
     /**
@@ -82,19 +165,19 @@ public class Cell implements Comparable<Cell>
      */
     public Set<Encyclopedia> getAllLivingBeingTypes()
     {
-        return biota.getAllLivingBeingTypes();
+        return getBiota().getAllLivingBeingTypes();
     }
 
     /**
-     * Возвращает случайное живое существо из заданных типов, исключая переданное.
+     * Возвращает случайное живое существо из заданных видов, исключая переданное.
      *
-     * @param typeSet допустимые типы (например, только травоядные)
+     * @param typeMask битовая маска допустимых видов (например, из {@link model.properties.Registry#getEdibleMask(Encyclopedia)})
      * @param exception существо, которое нельзя выбрать (может быть null)
      * @return случайное существо или null, если нет подходящих
      */
-    public Living getRandomLiving(Set<Encyclopedia> typeSet, Living exception)
+    public Living getRandomLiving(long typeMask, Living exception)
     {
-        return biota.getRandomLiving(typeSet, exception);
+        return getBiota().getRandomLiving(typeMask, exception, random);
     }
 
     /**
@@ -106,26 +189,28 @@ public class Cell implements Comparable<Cell>
     public boolean containsAny(LivingBeingType livingBeingType)
     {
         Set<Encyclopedia> typeSet = livingBeingType.getMembers();
-        return biota.containsAny(typeSet);
+        return getBiota().containsAny(typeSet);
     }
 
     /**
-     * Возвращает символ (строку длиной 2) самого многочисленного представителя указанной категории.
+     * Возвращает самого многочисленного представителя указанной категории.
      * Используется для отрисовки визуального представления острова.
      *
      * @param livingBeingType категория (ANIMAL или PLANT)
-     * @return строка-символ или "  ", если в клетке никого нет
+     * @return порядковый номер вида в {@link Encyclopedia} или -1, если в клетке никого нет
      */
-    public String getCharOfMaxAmount(LivingBeingType livingBeingType)
+    public int getMostNumerous(LivingBeingType livingBeingType)
     {
-        return biota.getCharOfMaxAmount(livingBeingType);
+        return getBiota().getMostNumerous(livingBeingType);
     }
 
     /**
      * Ищет и сохраняет ссылки на все соседние клетки.
      * Используется при построении карты. Повторные вызовы игнорируются.
+     *
+     * @param island остров, которому принадлежит клетка
      */
-    public void findNeighboringCells()
+    public void findNeighboringCells(Island island)
     {
         if (isFound) return;
 
@@ -134,19 +219,18 @@ public class Cell implements Comparable<Cell>
         {
             int newY = y + direction[0];
             int newX = x + direction[1];
-            checkAndAddNeighbors(neighbors, newX, newY);
+            checkAndAddNeighbors(island, neighbors, newX, newY);
         }
         neighboringCells = Collections.unmodifiableList(neighbors);
         isFound = true;
     }
 
 
-    private void checkAndAddNeighbors(List<Cell> neighbors, int x, int y)
+    private void checkAndAddNeighbors(Island island, List<Cell> neighbors, int x, int y)
     {
-        if (y >= 0 && y < GeneralConstants.HEIGHT &&
-                x >= 0 && x < GeneralConstants.LENGTH)
+        if (island.contains(x, y))
         {
-            neighbors.add(Island.getCell(x, y));
+            neighbors.add(island.getCell(x, y));
         }
     }
 
@@ -181,14 +265,62 @@ public class Cell implements Comparable<Cell>
     }
 
     /**
-     * Возвращает объект блокировки, связанный с данной клеткой.
-     * Используется для потокобезопасного перемещения и изменения состояния.
+     * Записывает прибытие существа в клетку. Само существо попадёт в биоту только на этапе фиксации
+     * ({@link #settleArrivals()}). Метод неблокирующий и может вызываться из любых потоков.
+     *
+     * @param mobile   прибывающее существо
+     * @param origin   клетка отправления
+     * @param sequence порядковый номер отправления из клетки {@code origin} в этом цикле
+     */
+    public void enqueueArrival(Mobile mobile, Cell origin, int sequence)
+    {
+        Arrival arrival = new Arrival(mobile, origin, sequence);
+        Arrival head;
+        do
+        {
+            head = arrivals.get();
+            arrival.next = head;
+        }
+        while (!arrivals.compareAndSet(head, arrival));
+    }
+
+    /**
+     * Фиксирует все записанные прибытия: существа добавляются в биоту клетки
+     * в порядке клеток отправления, поэтому результат не зависит от порядка работы потоков.
+     * Вызывается только потоком, обрабатывающим эту клетку.
+     *
+     * @return количество прибывших
+     */
+    public int settleArrivals()
+    {
+        Arrival head = arrivals.getAndSet(null);
+        if (head == null)
+        {
+            return 0;
+        }
+
+        List<Arrival> batch = new ArrayList<>();
+        for (Arrival arrival = head; arrival != null; arrival = arrival.next)
+        {
+            batch.add(arrival);
+        }
+        batch.sort(Arrival.ORDER);
+        for (Arrival arrival : batch)
+        {
+            arrival.mobile.arrive(this);
+        }
+        return batch.size();
+    }
+
+    /**
+     * Забирает все записанные прибытия, не фиксируя их. Используется процессом {@link ShardWorker}
+     * для теневых клеток, прибытия в которые передаются процессу соседней полосы.
      *
-     * @return {@link ReentrantLock}
+     * @return вершина стека прибытий или null, если прибытий нет
      */
-    public ReentrantLock getLock()
+    Arrival takeArrivals()
     {
-        return biota.getLock();
+        return arrivals.getAndSet(null);
     }
 
     @Override
@@ -2,8 +2,8 @@ package model.main;
 
 import lombok.AccessLevel;
 
-import lombok.Getter;
 import lombok.NoArgsConstructor;
+import model.LifeForm;
 import model.Living;
 
 import model.properties.DeathCause;
@@ -12,170 +12,244 @@ import model.properties.LivingBeingType;
 import model.properties.Registry;
 
 import java.util.*;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * Класс-хранилище всех живых существ в клетке.
  * Обеспечивает потокобезопасное добавление, удаление и доступ к существам.
- * Работает на основе карты "вид → список особей".
+ * Работает на основе массива "вид → контейнер особей" ({@link LivingBag}), индексированного порядковым номером вида.
+ * Все изменения выполняются под блокировкой клетки.
  */
 @NoArgsConstructor(access = AccessLevel.PACKAGE)
 class CellBiota
 {
-    private final Map<Encyclopedia, List<Living>> biota = new ConcurrentHashMap<>();
+    private static final Encyclopedia[] SPECIES = Encyclopedia.values();
 
-    @Getter(AccessLevel.PACKAGE)
-    ReentrantLock lock = new ReentrantLock();
+    /**
+     * Категории, для которых клетка хранит самого многочисленного представителя (отрисовка поля).
+     */
+    private static final LivingBeingType[] DISPLAYED = {LivingBeingType.ANIMAL, LivingBeingType.PLANT};
+
+    /**
+     * Номер отображаемой категории в {@link #DISPLAYED} для каждого вида, либо -1.
+     */
+    private static final int[] DISPLAYED_CATEGORY = new int[SPECIES.length];
+
+    static
+    {
+        Arrays.fill(DISPLAYED_CATEGORY, -1);
+        for (int i = 0; i < DISPLAYED.length; i++)
+        {
+            for (Encyclopedia livingBeing : DISPLAYED[i].getMembers())
+            {
+                DISPLAYED_CATEGORY[livingBeing.ordinal()] = i;
+            }
+        }
+    }
+
+    private final LivingBag[] biota = new LivingBag[SPECIES.length];
+
+    /**
+     * Численность каждого вида в клетке по {@link Encyclopedia#ordinal()}.
+     */
+    private final int[] counts = new int[SPECIES.length];
+
+    /**
+     * Порядковый номер самого многочисленного вида для каждой категории из {@link #DISPLAYED} (или -1).
+     * При равенстве численности выбирается вид с меньшим порядковым номером.
+     * Обновляется при каждом добавлении и удалении, поэтому снимок поля не пересчитывает клетки.
+     */
+    private final int[] dominant = {-1, -1};
+
+    private final ReentrantLock lock = new ReentrantLock();
 
     /**
      * Добавляет живое существо в биоту клетки.
      * При превышении лимита по численности вызывает смерть существа {@link Living#die(DeathCause)}.
      *
      * @param living добавляемое существо
+     * @return false, если клетка перенаселена и существо погибло
      */
-    void addLivingBeing(Living living)
+    boolean addLivingBeing(Living living)
     {
-        Encyclopedia livingBeing = Encyclopedia.getLivingBeing(living.getClass());
+        LifeForm lifeForm = (LifeForm) living;
+        Encyclopedia livingBeing = lifeForm.getLivingBeingType();
+        boolean overcrowded;
 
-        biota.computeIfAbsent(livingBeing, k -> new CopyOnWriteArrayList<>());
-        putInMap(living);
-    }
-
-    private void putInMap(Living living)
-    {
-        List<Living> livings = biota.get(Encyclopedia.getLivingBeing(living.getClass()));
+        lock.lock();
+        try
+        {
+            LivingBag livings = biota[livingBeing.ordinal()];
+            if (livings == null)
+            {
+                livings = new LivingBag();
+                biota[livingBeing.ordinal()] = livings;
+            }
+            overcrowded = livings.size() > Registry.getMaxCellAmount(livingBeing);
+            if (!overcrowded)
+            {
+                livings.add(lifeForm);
+                counts[livingBeing.ordinal()]++;
+                updateDominantOnAdd(livingBeing.ordinal());
+                Statistics.registerPopulationChange(livingBeing, 1);
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
 
-        if (livings.size() > Registry.getMaxCellAmount(Encyclopedia.getLivingBeing(living.getClass())))
+        if (overcrowded)
         {
             living.die(DeathCause.ACCIDENT);
-            return;
         }
-        livings.add(living);
+        return !overcrowded;
     }
 
-
     /**
-     * Удаляет существо из биоты.
-     * Если после удаления список пуст — соответствующий ключ удаляется из карты.
+     * Удаляет существо из биоты за O(1) по слоту, сохранённому в самом существе.
      *
      * @param living удаляемое существо
      */
     public void removeLivingBeing(Living living)
     {
+        LifeForm lifeForm = (LifeForm) living;
 
-        Encyclopedia livingBeingType = Encyclopedia.getLivingBeing(living.getClass());
-        List<Living> livings = biota.get(livingBeingType);
-
-        if (livings == null)
+        lock.lock();
+        try
         {
-            return;
-        }
-
-        if (!livings.isEmpty())
-        {
-            livings.remove(living);
+            LivingBag livings = biota[lifeForm.getLivingBeingType().ordinal()];
+            if (livings != null && livings.remove(lifeForm))
+            {
+                int ordinal = lifeForm.getLivingBeingType().ordinal();
+                counts[ordinal]--;
+                updateDominantOnRemove(ordinal);
+                Statistics.registerPopulationChange(lifeForm.getLivingBeingType(), -1);
+            }
         }
-
-        if (livings.isEmpty())
+        finally
         {
-            biota.remove(livingBeingType);
+            lock.unlock();
         }
-
     }
 
     /**
-     * Возвращает копию списка живых существ указанного типа.
+     * Возвращает снимок списка живых существ указанного типа.
      *
      * @param livingBeing вид существа
-     * @return копия списка, либо пустой список, если никого нет
+     * @return снимок списка, либо пустой список, если никого нет
      */
     public List<Living> getLivingBeings(Encyclopedia livingBeing)
     {
-        List<Living> list = biota.get(livingBeing);
-        if (list == null || list.isEmpty())
+        lock.lock();
+        try
+        {
+            LivingBag livings = biota[livingBeing.ordinal()];
+            return livings == null ? Collections.emptyList() : livings.snapshot();
+        }
+        finally
         {
-            return Collections.emptyList();
+            lock.unlock();
         }
-        return new CopyOnWriteArrayList<>(list);
     }
 
     /**
      * Возвращает все типы живых существ, находящихся в клетке.
      *
-     * @return множество ключей из карты биоты
+     * @return множество видов, у которых в клетке есть хотя бы одна особь
      */
     Set<Encyclopedia> getAllLivingBeingTypes()
     {
-        return biota.keySet();
+        Set<Encyclopedia> types = EnumSet.noneOf(Encyclopedia.class);
+        lock.lock();
+        try
+        {
+            for (Encyclopedia livingBeing : SPECIES)
+            {
+                if (!isEmpty(livingBeing))
+                {
+                    types.add(livingBeing);
+                }
+            }
+        }
+        finally
+        {
+            lock.unlock();
+        }
+        return types;
     }
 
 
     /**
-     * Возвращает случайное существо из указанных типов, исключая переданное.
-     * Используется, например, при поедании других существ или поиске партнёра.
+     * Возвращает случайное существо из указанных видов, исключая переданное.
+     * Вероятность выбора пропорциональна численности вида в клетке, поэтому каждая особь
+     * подходящих видов выбирается равновероятно. Метод не создаёт объектов.
      *
-     * @param baseSet допустимые типы
+     * @param typeMask битовая маска допустимых видов по {@link Encyclopedia#ordinal()}
      * @param exception исключаемое существо (или null)
+     * @param random поток случайных чисел клетки
      * @return случайное существо или null
      */
-    Living getRandomLiving(Set<Encyclopedia> baseSet, Living exception) {
-        // 1) Скопировать базовый набор и убрать текущего, если надо
-        Set<Encyclopedia> typeSet = new HashSet<>(baseSet);
-        if (exception != null) {
-            typeSet.remove(Encyclopedia.getLivingBeing(exception.getClass()));
-        }
-
-        // 2) Если после исключения нет типов — сразу null
-        if (typeSet.isEmpty()) {
-            return null;
+    Living getRandomLiving(long typeMask, Living exception, RandomGenerator random)
+    {
+        if (exception instanceof LifeForm lifeForm)
+        {
+            typeMask &= ~(1L << lifeForm.getLivingBeingType().ordinal());
         }
 
-        // 3) Перемешать список типов
-        List<Encyclopedia> typeList = new ArrayList<>(typeSet);
-        Collections.shuffle(typeList, ThreadLocalRandom.current());
+        lock.lock();
+        try
+        {
+            int total = 0;
+            for (long bits = typeMask; bits != 0; bits &= bits - 1)
+            {
+                total += counts[Long.numberOfTrailingZeros(bits)];
+            }
+            if (total == 0)
+            {
+                return null;
+            }
 
-        // 4) Перебрать каждый тип
-        for (Encyclopedia type : typeList) {
-            List<Living> livings = biota.get(type);
-            // 5) Пропускаем, если нет ни одного
-            if (livings == null || livings.isEmpty()) {
-                continue;
+            int pick = random.nextInt(total);
+            for (long bits = typeMask; bits != 0; bits &= bits - 1)
+            {
+                int ordinal = Long.numberOfTrailingZeros(bits);
+                int size = counts[ordinal];
+                if (pick < size)
+                {
+                    return biota[ordinal].get(pick);
+                }
+                pick -= size;
             }
-            // 6) Безопасный выбор случайного индекса
-            int idx = ThreadLocalRandom.current().nextInt(livings.size());
-            return livings.get(idx);
+            return null;
+        }
+        finally
+        {
+            lock.unlock();
         }
-
-        // 7) Ничего не нашли
-        return null;
     }
 
 
 
     /**
-     * Возвращает символ самого многочисленного представителя указанного типа (растения или животные).
-     * Используется для отрисовки визуализации.
+     * Возвращает самого многочисленного представителя указанной категории (растения или животные).
+     * Для отображаемых категорий значение берётся из кэша, обновляемого при добавлении и удалении.
+     * Вызывается между этапами, когда клетка не изменяется.
      *
      * @param livingBeingType категория (ANIMAL, HERBIVORE, CARNIVORE или PLANT)
-     * @return строка-символ существа или "  " (пробел), если никого нет
+     * @return порядковый номер вида или -1, если никого нет
      */
-    String getCharOfMaxAmount(LivingBeingType livingBeingType)
+    int getMostNumerous(LivingBeingType livingBeingType)
     {
-        Class<? extends Living> type = livingBeingType.getType();
-        Optional<Map.Entry<Encyclopedia, List<Living>>> maxOptional = biota.entrySet().stream()
-                .filter(entry -> type.isAssignableFrom(entry.getKey().getType()))
-                .max(Comparator.comparingInt(entry -> entry.getValue().size()));
-
-        if (maxOptional.isPresent())
+        for (int i = 0; i < DISPLAYED.length; i++)
         {
-            Encyclopedia maxType = maxOptional.get().getKey();
-            return Registry.getDisplay(maxType);
+            if (DISPLAYED[i] == livingBeingType)
+            {
+                return dominant[i];
+            }
         }
-
-        return "  ";
+        return findMostNumerous(livingBeingType);
     }
 
     /**
@@ -188,7 +262,7 @@ class CellBiota
     {
         for (Encyclopedia type : typeSet)
         {
-            if (biota.containsKey(type))
+            if (!isEmpty(type))
             {
                 return true;
             }
@@ -196,5 +270,76 @@ class CellBiota
         return false;
     }
 
+    /**
+     * @param ordinal порядковый номер вида
+     * @return численность вида в клетке
+     */
+    int getAmount(int ordinal)
+    {
+        return counts[ordinal];
+    }
+
+    /**
+     * Возвращает особь по слоту без блокировки и без копирования.
+     * Используется только между циклами, когда клетка не изменяется.
+     *
+     * @param ordinal порядковый номер вида
+     * @param slot    слот особи от 0 до {@link #getAmount(int)}
+     * @return особь
+     */
+    LifeForm get(int ordinal, int slot)
+    {
+        return biota[ordinal].get(slot);
+    }
+
+    private boolean isEmpty(Encyclopedia livingBeing)
+    {
+        return counts[livingBeing.ordinal()] == 0;
+    }
+
+    private void updateDominantOnAdd(int ordinal)
+    {
+        int category = DISPLAYED_CATEGORY[ordinal];
+        if (category < 0)
+        {
+            return;
+        }
+        int current = dominant[category];
+        if (current < 0 || counts[ordinal] > counts[current] ||
+                (counts[ordinal] == counts[current] && ordinal < current))
+        {
+            dominant[category] = ordinal;
+        }
+    }
+
+    /**
+     * Численность остальных видов при удалении не растёт, поэтому пересчёт нужен,
+     * только если уменьшился текущий лидер категории.
+     */
+    private void updateDominantOnRemove(int ordinal)
+    {
+        int category = DISPLAYED_CATEGORY[ordinal];
+        if (category >= 0 && dominant[category] == ordinal)
+        {
+            dominant[category] = findMostNumerous(DISPLAYED[category]);
+        }
+    }
+
+    private int findMostNumerous(LivingBeingType livingBeingType)
+    {
+        Set<Encyclopedia> members = livingBeingType.getMembers();
+        int maxType = -1;
+        int maxAmount = 0;
+        for (Encyclopedia livingBeing : SPECIES)
+        {
+            if (counts[livingBeing.ordinal()] > maxAmount && members.contains(livingBeing))
+            {
+                maxAmount = counts[livingBeing.ordinal()];
+                maxType = livingBeing.ordinal();
+            }
+        }
+        return maxType;
+    }
+
 
 }
@@ -0,0 +1,185 @@
+package model.main;
+
+import exceptions.CheckpointException;
+import lombok.Getter;
+import model.LifeForm;
+import model.properties.DeathCause;
+import model.properties.Encyclopedia;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Контрольная точка ({@link IslandCheckpoint}), отображённая в память для ленивого восстановления.
+ * <p>
+ * При открытии читаются только заголовок и статистика, а каждая клетка острова получает ссылку
+ * на образ. Особи клетки создаются при первом обращении к её биоте ({@link Cell#ensureMaterialized()}):
+ * смещение клетки берётся из индекса, а данные читаются абсолютными обращениями к отображённому буферу,
+ * поэтому разные потоки читают свои клетки одновременно без синхронизации.
+ * Страницы файла, относящиеся к ещё не затронутым клеткам, операционная система не загружает.
+ */
+final class CheckpointImage
+{
+    private static final Encyclopedia[] SPECIES = Encyclopedia.values();
+    private static final DeathCause[] CAUSES = DeathCause.values();
+
+    private final Path path;
+    private final MappedByteBuffer buffer;
+    private final int length;
+    private final int indexStart;
+
+    @Getter
+    private final long seed;
+
+    private CheckpointImage(Path path, MappedByteBuffer buffer, int length, int indexStart, long seed)
+    {
+        this.path = path;
+        this.buffer = buffer;
+        this.length = length;
+        this.indexStart = indexStart;
+        this.seed = seed;
+    }
+
+    /**
+     * Отображает файл контрольной точки в память, восстанавливает статистику и номер цикла
+     * и откладывает чтение всех клеток острова до первого обращения.
+     *
+     * @param island пустой остров того же размера
+     * @param path   файл контрольной точки
+     * @return открытый образ
+     * @throws CheckpointException если файл повреждён, другой версии или размер острова не совпадает
+     */
+    static CheckpointImage open(Island island, Path path)
+    {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ))
+        {
+            if (channel.size() > Integer.MAX_VALUE)
+            {
+                throw new CheckpointException(path + ": файл больше 2 ГБ не может быть отображён целиком");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        catch (IOException e)
+        {
+            throw new CheckpointException("Не удалось прочитать контрольную точку " + path + ": " + e.getMessage());
+        }
+
+        int cellsAmount = island.getCellsAmount();
+        int indexStart = IslandCheckpoint.HEADER_BYTES + SPECIES.length * IslandCheckpoint.SPECIES_BYTES;
+        if (buffer.capacity() < indexStart + (cellsAmount + 1L) * Long.BYTES)
+        {
+            throw corrupted(path, 0, "файл короче заголовка и индекса");
+        }
+
+        if (buffer.getInt() != IslandCheckpoint.MAGIC)
+        {
+            throw new CheckpointException(path + " не является контрольной точкой острова");
+        }
+        short version = buffer.getShort();
+        if (version != IslandCheckpoint.VERSION)
+        {
+            throw new CheckpointException(path + ": неподдерживаемая версия формата " + version);
+        }
+        int length = buffer.getInt();
+        int height = buffer.getInt();
+        if (length != island.getLength() || height != island.getHeight())
+        {
+            throw new CheckpointException(path + ": остров " + length + "x" + height +
+                    ", а настроен " + island.getLength() + "x" + island.getHeight());
+        }
+        int cycle = buffer.getInt();
+        long seed = buffer.getLong();
+        int speciesAmount = buffer.getShort();
+        if (speciesAmount != SPECIES.length)
+        {
+            throw new CheckpointException(path + ": записано видов " + speciesAmount + ", известно " + SPECIES.length);
+        }
+
+        long[] deathCounts = new long[CAUSES.length];
+        for (Encyclopedia species : SPECIES)
+        {
+            long breedings = buffer.getLong();
+            long meals = buffer.getLong();
+            for (DeathCause cause : CAUSES)
+            {
+                deathCounts[cause.ordinal()] = buffer.getLong();
+            }
+            Statistics.restoreCounters(species, breedings, meals, deathCounts);
+        }
+        Statistics.restoreCycle(cycle);
+
+        long end = buffer.getLong(indexStart + cellsAmount * Long.BYTES);
+        if (end != buffer.capacity())
+        {
+            throw corrupted(path, indexStart, "индекс указывает конец " + end + " при размере файла " + buffer.capacity());
+        }
+
+        CheckpointImage image = new CheckpointImage(path, buffer, length, indexStart, seed);
+        for (Cell[] cells : island.getIslandMap())
+        {
+            for (Cell cell : cells)
+            {
+                cell.deferMaterialization(image);
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Создаёт особей клетки из образа и добавляет их в её биоту в сохранённом порядке слотов.
+     * Вызывается потоком, который обрабатывает клетку.
+     *
+     * @param cell клетка острова
+     */
+    void materialize(Cell cell)
+    {
+        int cellIndex = cell.getY() * length + cell.getX();
+        int position = (int) buffer.getLong(indexStart + cellIndex * Long.BYTES);
+        int end = (int) buffer.getLong(indexStart + (cellIndex + 1) * Long.BYTES);
+
+        while (true)
+        {
+            if (position >= end)
+            {
+                throw corrupted(path, position, "клетка " + cell + " не завершена");
+            }
+            byte ordinal = buffer.get(position++);
+            if (ordinal == IslandCheckpoint.END_OF_CELL)
+            {
+                return;
+            }
+            if (ordinal < 0 || ordinal >= SPECIES.length)
+            {
+                throw corrupted(path, position - 1, "неизвестный вид " + ordinal);
+            }
+            Encyclopedia species = SPECIES[ordinal];
+            int amount = buffer.getInt(position);
+            position += Integer.BYTES;
+            if (amount < 0 || position + (long) amount * IslandCheckpoint.CREATURE_BYTES > end)
+            {
+                throw corrupted(path, position, "неверное количество особей " + amount + " в клетке " + cell);
+            }
+
+            for (int i = 0; i < amount; i++)
+            {
+                int flags = buffer.get(position);
+                double age = buffer.getDouble(position + Byte.BYTES);
+                double saturationLevel = buffer.getDouble(position + Byte.BYTES + Double.BYTES);
+                position += IslandCheckpoint.CREATURE_BYTES;
+
+                LifeForm lifeForm = (LifeForm) LifeFormFactory.createDetached(species, cell, age, saturationLevel);
+                lifeForm.restoreStateFlags(flags);
+                cell.addLivingBeing(lifeForm);
+            }
+        }
+    }
+
+    private static CheckpointException corrupted(Path path, long position, String message)
+    {
+        return new CheckpointException(path + ": повреждённая контрольная точка (позиция " + position + "): " + message);
+    }
+}
@@ -0,0 +1,224 @@
+package model.main;
+
+import model.main.tasks.Phase;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Замеры времени для движков симуляции:
+ * - время каждого участка на каждом этапе;
+ * - длительность этапов;
+ * - время простоя потоков на барьере — от завершения последней задачи потока до конца этапа,
+ *   в сумме по этапам и отдельно по каждому потоку;
+ * - наибольшая глубина очереди задач движка на этапе.
+ * <p>
+ * Потоки-исполнители пишут только в свои ячейки, а основной поток читает результаты после барьера,
+ * поэтому дополнительная синхронизация не нужна.
+ * <p>
+ * Для движков, создающих новый поток на каждую задачу ({@link VirtualThreadEngine}), постоянных потоков нет,
+ * поэтому простой на барьере не считается — такие движки создают замеры конструктором без количества потоков.
+ */
+class EngineStatistics
+{
+    private static final Phase[] PHASES = Phase.values();
+
+    private final List<Tile> tiles;
+    private final int threads;
+
+    private final long[][] tileNanos;
+    private final long[][] maxTileNanos;
+    private final long[] phaseNanos = new long[PHASES.length];
+    private final long[] barrierWaitNanos = new long[PHASES.length];
+    private final int[] phaseRuns = new int[PHASES.length];
+
+    private final AtomicInteger workersAmount = new AtomicInteger();
+    private final ThreadLocal<Integer> workerSlot = ThreadLocal.withInitial(workersAmount::getAndIncrement);
+    private final long[] lastFinish;
+    private final long[] workerWaitNanos;
+
+    private final AtomicInteger queueDepth = new AtomicInteger();
+
+    private long phaseStart;
+
+    /**
+     * Длительность последнего этапа и средний простой потока на его барьере.
+     */
+    private long lastPhaseNanos;
+    private long lastBarrierWaitNanos;
+
+    /**
+     * Замеры для движка с потоками-исполнителями, живущими всё время симуляции.
+     *
+     * @param tiles   участки острова
+     * @param threads количество потоков-исполнителей
+     */
+    EngineStatistics(List<Tile> tiles, int threads)
+    {
+        this.tiles = tiles;
+        this.threads = threads;
+        this.tileNanos = new long[PHASES.length][tiles.size()];
+        this.maxTileNanos = new long[PHASES.length][tiles.size()];
+        // ForkJoinPool может временно добавлять компенсирующие потоки
+        this.lastFinish = new long[threads * 2];
+        this.workerWaitNanos = new long[lastFinish.length];
+    }
+
+    /**
+     * Замеры для движка, выполняющего каждую задачу в новом потоке: простой на барьере не считается.
+     *
+     * @param tiles участки острова
+     */
+    EngineStatistics(List<Tile> tiles)
+    {
+        this(tiles, 0);
+    }
+
+    void beginPhase()
+    {
+        queueDepth.set(0);
+        phaseStart = System.nanoTime();
+    }
+
+    /**
+     * Учитывает наблюдаемую глубину очереди задач; за этап сохраняется наибольшая.
+     * Может вызываться из любого потока.
+     *
+     * @param depth количество задач, ожидающих выполнения
+     */
+    void sampleQueueDepth(int depth)
+    {
+        queueDepth.accumulateAndGet(depth, Math::max);
+    }
+
+    /**
+     * Регистрирует завершение участка. Вызывается потоком-исполнителем.
+     */
+    void tileFinished(Phase phase, Tile tile, long startNanos)
+    {
+        long now = System.nanoTime();
+        long nanos = now - startNanos;
+        // Каждый участок за этап выполняется ровно одной задачей
+        tileNanos[phase.ordinal()][tile.getIndex()] += nanos;
+        if (nanos > maxTileNanos[phase.ordinal()][tile.getIndex()])
+        {
+            maxTileNanos[phase.ordinal()][tile.getIndex()] = nanos;
+        }
+
+        if (threads == 0)
+        {
+            return;
+        }
+        int slot = workerSlot.get();
+        if (slot < lastFinish.length)
+        {
+            lastFinish[slot] = now;
+        }
+    }
+
+    void endPhase(Phase phase)
+    {
+        long end = System.nanoTime();
+        long duration = end - phaseStart;
+        int workers = Math.min(workersAmount.get(), lastFinish.length);
+
+        long idle = 0;
+        for (int slot = 0; slot < workers; slot++)
+        {
+            long wait = lastFinish[slot] >= phaseStart ? end - lastFinish[slot] : duration;
+            workerWaitNanos[slot] += wait;
+            idle += wait;
+        }
+        idle += Math.max(0, threads - workers) * duration;
+
+        phaseNanos[phase.ordinal()] += duration;
+        barrierWaitNanos[phase.ordinal()] += idle;
+        phaseRuns[phase.ordinal()]++;
+        lastPhaseNanos = duration;
+        lastBarrierWaitNanos = threads == 0 ? 0 : idle / threads;
+    }
+
+    /**
+     * @return длительность последнего завершённого этапа
+     */
+    long getLastPhaseNanos()
+    {
+        return lastPhaseNanos;
+    }
+
+    /**
+     * @return средний простой одного потока на барьере последнего завершённого этапа
+     */
+    long getLastBarrierWaitNanos()
+    {
+        return lastBarrierWaitNanos;
+    }
+
+    /**
+     * @return наибольшая глубина очереди задач на последнем этапе
+     */
+    int getLastQueueDepth()
+    {
+        return queueDepth.get();
+    }
+
+    /**
+     * @return суммарный простой на барьерах каждого потока, выполнявшего участки, в порядке появления потоков
+     */
+    long[] getWorkerWaitNanos()
+    {
+        return Arrays.copyOf(workerWaitNanos, Math.min(workersAmount.get(), workerWaitNanos.length));
+    }
+
+    /**
+     * Формирует отчёт по каждому этапу: длительность этапа, простой потоков на барьере,
+     * среднее и максимальное время участка, самый медленный участок и дисбаланс (макс / среднее).
+     *
+     * @return строки отчёта
+     */
+    List<String> getReport()
+    {
+        List<String> report = new ArrayList<>();
+        report.add("Участков: " + tiles.size() + ", потоков: " + (threads == 0 ? "по одному на задачу" : threads));
+        for (Phase phase : PHASES)
+        {
+            int runs = phaseRuns[phase.ordinal()];
+            if (runs == 0)
+            {
+                continue;
+            }
+            long[] nanos = tileNanos[phase.ordinal()];
+            long total = 0;
+            int slowest = 0;
+            for (int i = 0; i < nanos.length; i++)
+            {
+                total += nanos[i];
+                if (nanos[i] > nanos[slowest])
+                {
+                    slowest = i;
+                }
+            }
+            double phaseMillis = phaseNanos[phase.ordinal()] / 1e6 / runs;
+            double waitMillis = threads == 0 ? 0 : barrierWaitNanos[phase.ordinal()] / 1e6 / runs / threads;
+            double averageMicros = (double) total / nanos.length / runs / 1000;
+            double slowestMicros = (double) nanos[slowest] / runs / 1000;
+
+            if (threads == 0)
+            {
+                report.add(String.format("%s: этап %.2f мс", phase, phaseMillis));
+            }
+            else
+            {
+                report.add(String.format("%s: этап %.2f мс, простой на барьере %.2f мс на поток (%.0f%%)",
+                        phase, phaseMillis, waitMillis, phaseMillis == 0 ? 0 : waitMillis / phaseMillis * 100));
+            }
+            report.add(String.format("%s: участок в среднем %.1f мкс, самый медленный %s — %.1f мкс (пик %.1f мкс), дисбаланс %.1f",
+                    phase, averageMicros, tiles.get(slowest), slowestMicros,
+                    maxTileNanos[phase.ordinal()][slowest] / 1000.0,
+                    averageMicros == 0 ? 0 : slowestMicros / averageMicros));
+        }
+        return report;
+    }
+}
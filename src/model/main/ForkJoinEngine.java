@@ -0,0 +1,183 @@
+package model.main;
+
+import model.main.tasks.Phase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Движок симуляции на {@link ForkJoinPool} с перехватом работы (work stealing).
+ * <p>
+ * Карта один раз рекурсивно делится пополам по длинной стороне, пока площадь области не станет
+ * не больше площади участка; получившееся дерево областей обходится на каждом этапе
+ * задачами {@link RecursiveAction}. Поток, закончивший свою половину, забирает ещё не начатые
+ * подобласти у занятых потоков, поэтому плотно заселённые области не задерживают барьер
+ * так сильно, как в пуле фиксированного размера.
+ */
+public class ForkJoinEngine implements SimulationEngine
+{
+    private final ForkJoinPool pool;
+    private final Region root;
+    private final List<Tile> tiles;
+    private final int tileSize;
+    private final EngineStatistics statistics;
+
+    /**
+     * @param island   остров
+     * @param threads  уровень параллелизма пула
+     * @param tileSize сторона листовой области в клетках; 0 — подобрать автоматически
+     */
+    public ForkJoinEngine(Island island, int threads, int tileSize)
+    {
+        this.tileSize = tileSize > 0 ? tileSize : TileScheduler.chooseTileSize(island.getCellsAmount(), threads);
+        List<Tile> leaves = new ArrayList<>();
+        this.root = split(island, leaves, 0, island.getFromY(), island.getLength(), island.getToY(), this.tileSize * this.tileSize);
+        this.tiles = Collections.unmodifiableList(leaves);
+        this.pool = new ForkJoinPool(threads);
+        this.statistics = new EngineStatistics(tiles, threads);
+    }
+
+    /**
+     * Строит дерево областей, деля прямоугольник пополам по длинной стороне.
+     * Листья дерева — участки {@link Tile}, пронумерованные в порядке обхода.
+     */
+    private static Region split(Island island, List<Tile> leaves, int fromX, int fromY, int toX, int toY, int leafArea)
+    {
+        int width = toX - fromX;
+        int height = toY - fromY;
+        if (width * height <= leafArea || (width == 1 && height == 1))
+        {
+            Tile tile = new Tile(island, leaves.size(), fromX, fromY, toX, toY);
+            leaves.add(tile);
+            return new Region(tile, null, null);
+        }
+        if (width >= height)
+        {
+            int middle = fromX + width / 2;
+            return new Region(null,
+                    split(island, leaves, fromX, fromY, middle, toY, leafArea),
+                    split(island, leaves, middle, fromY, toX, toY, leafArea));
+        }
+        int middle = fromY + height / 2;
+        return new Region(null,
+                split(island, leaves, fromX, fromY, toX, middle, leafArea),
+                split(island, leaves, fromX, middle, toX, toY, leafArea));
+    }
+
+    @Override
+    public void runPhase(Phase phase, long phaseSeed)
+    {
+        statistics.beginPhase();
+        pool.invoke(new RegionAction(root, phase, phaseSeed));
+        statistics.endPhase(phase);
+    }
+
+    @Override
+    public void runAll(List<? extends Runnable> tasks)
+    {
+        pool.invoke(new RecursiveAction()
+        {
+            @Override
+            protected void compute()
+            {
+                List<RecursiveAction> actions = new ArrayList<>();
+                for (Runnable task : tasks)
+                {
+                    actions.add(new RecursiveAction()
+                    {
+                        @Override
+                        protected void compute()
+                        {
+                            task.run();
+                        }
+                    });
+                }
+                invokeAll(actions);
+            }
+        });
+    }
+
+    @Override
+    public EngineStatistics getStatistics()
+    {
+        return statistics;
+    }
+
+    @Override
+    public List<String> getReport()
+    {
+        List<String> report = new ArrayList<>();
+        report.add("Движок: ForkJoinPool, листовая область до " + tileSize + "x" + tileSize +
+                ", перехвачено задач: " + pool.getStealCount());
+        report.addAll(statistics.getReport());
+        return report;
+    }
+
+    @Override
+    public void shutdown()
+    {
+        pool.shutdown();
+
+        try
+        {
+            boolean isTerminated = pool.awaitTermination(3, TimeUnit.SECONDS);
+            if (!isTerminated)
+            {
+                pool.shutdownNow();
+            }
+        }
+        catch (InterruptedException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * Узел дерева областей: либо лист с участком, либо две половины.
+     */
+    private record Region(Tile tile, Region first, Region second)
+    {
+    }
+
+    /**
+     * Выполняет этап для области: лист обрабатывается сразу, иначе обе половины отдаются в пул.
+     */
+    private class RegionAction extends RecursiveAction
+    {
+        private final Region region;
+        private final Phase phase;
+        private final long phaseSeed;
+
+        RegionAction(Region region, Phase phase, long phaseSeed)
+        {
+            this.region = region;
+            this.phase = phase;
+            this.phaseSeed = phaseSeed;
+        }
+
+        @Override
+        protected void compute()
+        {
+            if (region.tile() != null)
+            {
+                statistics.sampleQueueDepth((int) Math.min(Integer.MAX_VALUE, pool.getQueuedTaskCount()));
+                long start = System.nanoTime();
+                try
+                {
+                    phase.createTask(region.tile(), phaseSeed).run();
+                }
+                finally
+                {
+                    statistics.tileFinished(phase, region.tile(), start);
+                }
+                return;
+            }
+            invokeAll(new RegionAction(region.first(), phase, phaseSeed),
+                    new RegionAction(region.second(), phase, phaseSeed));
+        }
+    }
+}
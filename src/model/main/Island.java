@@ -2,67 +2,272 @@ package model.main;
 
 
 import lombok.Getter;
+import model.main.events.BreedingEvent;
+import model.main.events.CycleEvent;
+import model.main.population.PopulationStore;
 import model.main.tasks.MoveTask;
+import model.main.tasks.Phase;
 import model.main.tasks.PopulationTask;
 import model.main.tasks.LiveTask;
 import model.properties.Encyclopedia;
+import model.properties.Registry;
+import model.properties.RegistryWatcher;
 import util.GeneralConstants;
+import util.RandomStreams;
+import util.SimulationConfig;
 import model.properties.LivingBeingType;
 import view.Drawer;
+import view.Frame;
+import view.FrameRenderer;
 
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.concurrent.*;
+import java.util.random.RandomGenerator;
 
+/**
+ * Остров — карта клеток и движок, выполняющий циклы симуляции.
+ * Размер карты, количество потоков и лимит циклов задаются {@link SimulationConfig} при создании,
+ * поэтому в одном процессе можно создать остров любого размера без перекомпиляции.
+ */
 public class Island
 {
+    @Getter
+    private final SimulationConfig config;
+
     /**
-     * Двумерная карта острова.
+     * Двумерная карта острова. В процессе полосы {@link ShardWorker} строки вне полосы и её теневых строк равны null.
      */
     @Getter
-    private static final Cell[][] islandMap = new Cell[GeneralConstants.HEIGHT][GeneralConstants.LENGTH];
+    private final Cell[][] islandMap;
 
-    private static final ExecutorService executor = Executors.newFixedThreadPool(GeneralConstants.MAX_PROCESSING_THREADS);
-    private static final Phaser phaser = new Phaser(1);
+    @Getter
+    private final int length;
+    @Getter
+    private final int height;
 
+    /**
+     * Строки {@code [fromY, toY)}, которые обрабатывает этот процесс. Без разделения на процессы — весь остров.
+     */
+    @Getter
+    private final int fromY;
+    @Getter
+    private final int toY;
 
+    private final SimulationEngine engine;
 
-    public static void main(String[] args)
+    private final FrameRenderer renderer;
+
+    /**
+     * Поцикловые замеры времени шагов, пропускной способности и выделения памяти.
+     */
+    @Getter
+    private final SimulationMetrics metrics;
+
+    /**
+     * Источник зёрен случайных потоков для заселения и этапов циклов.
+     * При восстановлении из контрольной точки заменяется зерном из неё.
+     */
+    private RandomStreams randomStreams;
+
+
+    /**
+     * Создаёт остров по конфигурации: строит карту клеток и пул потоков.
+     *
+     * @param config параметры запуска
+     */
+    public Island(SimulationConfig config)
     {
+        this(config, 0, config.getHeight(), 0);
+    }
+
+    /**
+     * Создаёт полосу острова для процесса {@link ShardWorker}: клетки создаются только для строк
+     * {@code [fromY, toY)} и теневых строк глубиной {@code margin} по обе стороны от них.
+     * Теневые строки не обрабатываются движком — в них только записываются прибытия в соседние полосы.
+     *
+     * @param config параметры запуска
+     * @param fromY  первая строка полосы
+     * @param toY    строка за последней строкой полосы
+     * @param margin глубина теневых строк
+     */
+    Island(SimulationConfig config, int fromY, int toY, int margin)
+    {
+        this.config = config;
+        this.length = config.getLength();
+        this.height = config.getHeight();
+        this.fromY = fromY;
+        this.toY = toY;
+        this.islandMap = new Cell[height][];
+        for (int y = Math.max(0, fromY - margin); y < Math.min(height, toY + margin); y++)
+        {
+            islandMap[y] = new Cell[length];
+        }
+        this.randomStreams = new RandomStreams(config.getSeed());
         createMap();
-        populateRandomly();
-        startSimulation();
-        shutdown();
+        this.engine = SimulationEngine.create(this, config);
+        this.renderer = new FrameRenderer(length, height, config.getRender());
+        this.metrics = new SimulationMetrics(engine.getStatistics());
+        metrics.register();
+    }
+
+    public static void main(String[] args)
+    {
+        SimulationConfig config = SimulationConfig.load(args);
+        System.out.println(config);
+        System.out.println(Registry.getLoadReport());
+        if (config.getShards() > 1)
+        {
+            new ShardCoordinator(config).run();
+        }
+        else
+        {
+            new Island(config).run();
+        }
+    }
+
+    /**
+     * Заселяет остров, выполняет симуляцию до выполнения условий завершения и останавливает пул потоков.
+     */
+    public void run()
+    {
+        RegistryWatcher watcher = config.isReloadSpecies() ? new RegistryWatcher(GeneralConstants.INFO_PATH) : null;
+        try
+        {
+            if (config.isColumnarPopulation())
+            {
+                startColumnarSimulation();
+            }
+            else
+            {
+                if (config.getRestorePath() != null)
+                {
+                    restore(config.getRestorePath());
+                }
+                else
+                {
+                    populateRandomly();
+                }
+                startSimulation();
+            }
+        }
+        finally
+        {
+            if (watcher != null)
+            {
+                watcher.close();
+            }
+            shutdown();
+        }
+    }
+
+    /**
+     * @return отчёт движка о времени этапов
+     */
+    List<String> getEngineReport()
+    {
+        return engine.getReport();
+    }
+
+    /**
+     * Останавливает поток отрисовки и потоки движка. Остров после этого не используется.
+     */
+    void shutdown()
+    {
+        metrics.unregister();
+        renderer.close();
+        engine.shutdown();
     }
 
     /**
      * Запускает бесконечный цикл симуляции, пока не будут нарушены условия продолжения,
-     * проверяемые в {@link Statistics#checkConditions()}.
+     * проверяемые в {@link Statistics#checkConditions(int)}.
      * Внутри каждого цикла:
      * - выполняется симуляция одного шага (движение, жизнь, размножение);
      * - отрисовывается текущее состояние поля.
      */
-    private static void startSimulation()
+    private void startSimulation()
     {
         do
         {
             simulate();
-            Drawer.drawField();
+            if (config.getCheckpointEvery() > 0 &&
+                    Statistics.getCurrentCycleNumber() % config.getCheckpointEvery() == 0)
+            {
+                saveCheckpoint();
+            }
+        }
+        while (Statistics.checkConditions(config.getMaxCycles()));
+
+        saveCheckpoint();
+        Drawer.drawReport("Время этапов", engine.getReport());
+        Drawer.drawReport("Показатели циклов", metrics.getReport());
+        Drawer.drawReport("Численность видов", Statistics.getHistory().getReport());
+    }
+
+    /**
+     * Запускает симуляцию на колоночном хранилище {@link PopulationStore}.
+     * Клетки карты используются только для сбора статистики и отрисовки,
+     * сами существа живут в примитивных массивах хранилища.
+     */
+    private void startColumnarSimulation()
+    {
+        PopulationStore store = new PopulationStore(length, height, randomStreams.phaseSeed(0, 0));
+        RandomGenerator random = store.getRandom();
+
+        for (Encyclopedia livingBeing : Encyclopedia.values())
+        {
+            int startAmount = Registry.getStartAmount(livingBeing, length, height);
+            double maxAge = Registry.getMaxAge(livingBeing);
+            double maxSaturation = Registry.getMaxSaturationLevel(livingBeing);
+            for (int i = 0; i < startAmount; i++)
+            {
+                store.add(livingBeing,
+                        random.nextInt(length),
+                        random.nextInt(height),
+                        RandomStreams.getRandomDouble(random, maxAge),
+                        RandomStreams.getRandomDouble(random, maxSaturation));
+            }
+        }
+
+        do
+        {
+            metrics.beginCycle();
+            if (publishSpeciesTable())
+            {
+                store.reloadProperties();
+            }
+            metrics.lap(SimulationMetrics.Step.SPECIES);
+            store.move();
+            metrics.lap(SimulationMetrics.Step.MOVE);
+            store.live(Statistics.isBreedingCycle());
+            metrics.lap(SimulationMetrics.Step.LIVE);
+            Statistics.nextCycle();
+            metrics.lap(SimulationMetrics.Step.STATISTICS);
+            publishFrame(store);
+            metrics.lap(SimulationMetrics.Step.FRAME);
+            metrics.endCycle();
         }
-        while (Statistics.checkConditions());
+        while (Statistics.checkConditions(config.getMaxCycles()));
 
+        Drawer.drawReport("Показатели циклов", metrics.getReport());
+        Drawer.drawReport("Численность видов", Statistics.getHistory().getReport());
     }
 
     /**
      * Создаёт сетку клеток (остров) и связывает каждую клетку с её соседями.
-     * Клетки создаются по размеру, заданному в {@link GeneralConstants}, и после этого каждая
+     * Клетки создаются по размеру, заданному в {@link SimulationConfig}, и после этого каждая
      * клетка определяет и сохраняет список соседних клеток.
      */
-    private static void createMap()
+    private void createMap()
     {
-        for (int y = 0; y < islandMap.length; y++)
+        for (int y = 0; y < height; y++)
         {
-            for (int x = 0; x < islandMap[y].length; x++)
+            if (islandMap[y] == null)
+            {
+                continue;
+            }
+            for (int x = 0; x < length; x++)
             {
                 islandMap[y][x] = new Cell(x, y);
             }
@@ -70,9 +275,13 @@ public class Island
 
         for (Cell[] cells : islandMap)
         {
+            if (cells == null)
+            {
+                continue;
+            }
             for (Cell cell : cells)
             {
-                cell.findNeighboringCells();
+                cell.findNeighboringCells(this);
             }
         }
     }
@@ -80,17 +289,44 @@ public class Island
     /**
      * Заселяет карту существами из справочника {@link Encyclopedia}.
      * Для каждого вида создается задача {@link PopulationTask}, которая выполняется в пуле потоков.
-     * После заселения основной поток ожидает завершения всех задач с помощью {@link Phaser}.
+     * Основной поток ожидает завершения всех задач.
      */
-    private static void populateRandomly()
+    void populateRandomly()
     {
+        List<PopulationTask> tasks = new ArrayList<>();
         int livingBeingCounter = Encyclopedia.values().length;
         for (int i = 0; i < livingBeingCounter; i++)
         {
-            executor.submit(new PopulationTask(i, phaser));
+            tasks.add(new PopulationTask(this, i, randomStreams.populationSeed(i)));
         }
 
-        phaser.arriveAndAwaitAdvance();
+        engine.runAll(tasks);
+    }
+
+    /**
+     * Восстанавливает остров из контрольной точки: статистику, номер цикла и зерно случайных потоков.
+     * Особи клеток создаются лениво, при первом обращении к клетке на этапах цикла.
+     *
+     * @param path файл контрольной точки
+     */
+    private void restore(Path path)
+    {
+        long start = System.nanoTime();
+        long seed = IslandCheckpoint.restore(this, path);
+        randomStreams = new RandomStreams(seed);
+        System.out.printf("Контрольная точка %s открыта (цикл %d, зерно %d) за %.1f мс, клетки читаются при первом обращении%n",
+                path, Statistics.getCurrentCycleNumber(), seed, (System.nanoTime() - start) / 1_000_000.0);
+    }
+
+    /**
+     * Сохраняет контрольную точку, если она задана в настройках. Вызывается между циклами.
+     */
+    private void saveCheckpoint()
+    {
+        if (config.getCheckpointPath() != null)
+        {
+            IslandCheckpoint.save(this, randomStreams.getSeed(), config.getCheckpointPath());
+        }
     }
 
     /**
@@ -100,90 +336,191 @@ public class Island
      * @param y координата Y
      * @return объект клетки
      */
-    static Cell getCell(int x, int y)
+    public Cell getCell(int x, int y)
     {
         return islandMap[y][x];
     }
 
+    /**
+     * Проверяет, лежат ли координаты в пределах острова и созданы ли клетки этой строки в текущем процессе.
+     */
+    public boolean contains(int x, int y)
+    {
+        return y >= 0 && y < height && x >= 0 && x < length && islandMap[y] != null;
+    }
+
+    /**
+     * Проверяет, обрабатывает ли этот процесс строку острова.
+     *
+     * @param y координата Y
+     * @return true, если строка лежит в полосе процесса
+     */
+    public boolean owns(int y)
+    {
+        return y >= fromY && y < toY;
+    }
+
+    /**
+     * @return количество клеток, обрабатываемых этим процессом
+     */
+    public int getCellsAmount()
+    {
+        return length * (toY - fromY);
+    }
+
     /**
      * Выполняет один шаг симуляции, состоящий из следующих этапов:
-     * 1. Передвижение подвижных существ в каждой клетке через {@link MoveTask}.
-     * 2. Жизненные действия (рост, питание, размножение) через {@link LiveTask}.
-     * 3. Сбор статистики и визуализация.
-     * Все задачи запускаются параллельно, синхронизируются с помощью {@link Phaser}.
+     * 1. Выбор перемещений подвижных существ в каждой клетке через {@link MoveTask}.
+     * 2. Фиксация перемещений в клетках назначения через {@link model.main.tasks.SettleTask}.
+     * 3. Жизненные действия (рост, питание, размножение) через {@link LiveTask}.
+     * 4. Сбор статистики и визуализация.
+     * Каждый этап выполняется параллельно по участкам острова выбранным {@link SimulationEngine}.
+     * Время каждого шага записывается в {@link SimulationMetrics}, цикл и этап размножения —
+     * событиями Java Flight Recorder {@link CycleEvent} и {@link BreedingEvent}, если запись включена.
      */
-    private static void simulate()
+    void simulate()
     {
-        phaser.bulkRegister(GeneralConstants.CELLS_AMOUNT);
-        for (Cell[] cells : islandMap)
+        CycleEvent cycleEvent = new CycleEvent();
+        cycleEvent.begin();
+        long birthsBefore = cycleEvent.isEnabled() ? Statistics.getBreedingCount() : 0;
+        metrics.beginCycle();
+        publishSpeciesTable();
+        metrics.lap(SimulationMetrics.Step.SPECIES);
+        int cycle = Statistics.getCurrentCycleNumber();
+        boolean breeding = Statistics.isBreedingCycle();
+        for (Phase phase : Phase.values())
         {
-            for (Cell cell : cells)
-            {
-                executor.submit(new MoveTask(cell, phaser));
-            }
+            runPhase(phase);
         }
-
-        phaser.arriveAndAwaitAdvance();
-
-        phaser.bulkRegister(GeneralConstants.CELLS_AMOUNT);
-        for (Cell[] cells : islandMap)
+        Statistics.nextCycle();
+        metrics.lap(SimulationMetrics.Step.STATISTICS);
+        publishFrame();
+        metrics.lap(SimulationMetrics.Step.FRAME);
+        metrics.endCycle();
+        cycleEvent.end();
+        if (cycleEvent.shouldCommit())
         {
-            for (Cell cell : cells)
-            {
-                executor.submit(new LiveTask(cell, phaser));
-            }
+            cycleEvent.cycle = cycle;
+            cycleEvent.breeding = breeding;
+            cycleEvent.population = Statistics.getPopulation();
+            cycleEvent.births = Statistics.getBreedingCount() - birthsBefore;
+            cycleEvent.commit();
         }
+    }
 
+    /**
+     * Выполняет один этап текущего цикла движком и отмечает его завершение в {@link SimulationMetrics}.
+     * Этап жизни в цикле размножения замеряется событием {@link BreedingEvent}.
+     *
+     * @param phase этап
+     */
+    void runPhase(Phase phase)
+    {
+        int cycle = Statistics.getCurrentCycleNumber();
+        if (phase == Phase.LIVE && Statistics.isBreedingCycle())
+        {
+            runBreedingPhase(phase, cycle);
+        }
+        else
+        {
+            engine.runPhase(phase, randomStreams.phaseSeed(cycle, phase.ordinal()));
+        }
+        metrics.phaseFinished(phase);
+    }
 
-        phaser.arriveAndAwaitAdvance();
-        sendEveryCellChar();
-        Statistics.nextCycle();
-
+    /**
+     * Выполняет этап цикла размножения, замеряя его событием {@link BreedingEvent}.
+     *
+     * @param phase этап
+     * @param cycle номер цикла
+     */
+    private void runBreedingPhase(Phase phase, int cycle)
+    {
+        BreedingEvent event = new BreedingEvent();
+        event.begin();
+        long birthsBefore = event.isEnabled() ? Statistics.getBreedingCount() : 0;
+        engine.runPhase(phase, randomStreams.phaseSeed(cycle, phase.ordinal()));
+        event.end();
+        if (event.shouldCommit())
+        {
+            event.cycle = cycle;
+            event.births = Statistics.getBreedingCount() - birthsBefore;
+            event.population = Statistics.getPopulation();
+            event.commit();
+        }
     }
 
     /**
-     * Сканирует все клетки острова и определяет, какие растения и животные наиболее многочисленны в каждой из них.
-     * Собранные символы передаются в визуализатор {@link Drawer} для отображения на экране.
+     * Применяет подготовленную {@link RegistryWatcher} версию параметров видов.
+     * Вызывается перед циклом, пока потоки обработки ждут на барьере,
+     * поэтому весь цикл выполняется с одной версией таблицы.
+     *
+     * @return true, если опубликована новая версия
      */
-    private static void sendEveryCellChar()
+    private boolean publishSpeciesTable()
     {
-        List<String> mostPopularAnimalChars = new ArrayList<>();
-        List<String> mostPopularPlantChars = new ArrayList<>();
+        if (!Registry.publishStaged())
+        {
+            return false;
+        }
+        System.out.println("Применена версия параметров видов " + Registry.getVersion() +
+                " с цикла " + Statistics.getCurrentCycleNumber());
+        return true;
+    }
 
+    /**
+     * Снимает для каждой клетки самое многочисленное животное и растение в кадр
+     * и передаёт его на отрисовку. В режиме без отрисовки ничего не делает.
+     */
+    private void publishFrame()
+    {
+        if (!renderer.isEnabled())
+        {
+            return;
+        }
+        Frame frame = renderer.acquire();
+        frame.captureStatistics();
+        int index = 0;
         for (Cell[] cells : islandMap)
         {
             for (Cell cell : cells)
             {
-                mostPopularAnimalChars.add(cell.getCharOfMaxAmount(LivingBeingType.ANIMAL));
-                mostPopularPlantChars.add(cell.getCharOfMaxAmount(LivingBeingType.PLANT));
+                frame.setCell(index++,
+                        cell.getMostNumerous(LivingBeingType.ANIMAL),
+                        cell.getMostNumerous(LivingBeingType.PLANT));
             }
         }
-
-        Drawer.receiveMostPopularChars(mostPopularAnimalChars, mostPopularPlantChars);
+        renderer.publish(frame);
     }
 
     /**
-     * Завершает работу пула потоков.
-     * Пытается корректно завершить задачи в течение 3 секунд. Если не удаётся — форсирует завершение всех потоков.
+     * Аналог {@link #publishFrame()} для колоночного хранилища.
+     *
+     * @param store колоночное хранилище популяции
      */
-    private static void shutdown()
+    private void publishFrame(PopulationStore store)
     {
-        executor.shutdown();
-
-        try
+        if (!renderer.isEnabled())
         {
-            boolean isTerminated = executor.awaitTermination(3, TimeUnit.SECONDS);
-            if (!isTerminated)
-            {
-                executor.shutdownNow();
-            }
+            return;
         }
-        catch (InterruptedException e)
+        Frame frame = renderer.acquire();
+        frame.captureStatistics();
+        int index = 0;
+        for (int y = 0; y < height; y++)
         {
-            throw new RuntimeException(e);
+            for (int x = 0; x < length; x++)
+            {
+                frame.setCell(index++,
+                        getOrdinal(store.getMostNumerous(x, y, LivingBeingType.ANIMAL)),
+                        getOrdinal(store.getMostNumerous(x, y, LivingBeingType.PLANT)));
+            }
         }
-
+        renderer.publish(frame);
     }
 
-
+    private static int getOrdinal(Encyclopedia livingBeing)
+    {
+        return livingBeing == null ? Frame.EMPTY : livingBeing.ordinal();
+    }
 }
@@ -0,0 +1,222 @@
+package model.main;
+
+import exceptions.CheckpointException;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import model.LifeForm;
+import model.properties.DeathCause;
+import model.properties.Encyclopedia;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Контрольная точка острова: полное состояние симуляции между циклами в компактном двоичном файле.
+ * <p>
+ * Формат (все числа в порядке big-endian):
+ * <pre>
+ * заголовок:  int MAGIC, short VERSION, int length, int height, int cycle, long seed
+ * статистика: short видов; на каждый вид — long размножений, long питаний, long смертей по каждой причине
+ * индекс:     long смещение начала каждой клетки (по строкам, слева направо) и long конец файла
+ * клетки:     для каждого присутствующего в клетке вида byte вид, int количество,
+ *             затем особи: byte флаги, double возраст, double насыщение;
+ *             клетка завершается байтом {@link #END_OF_CELL}
+ * </pre>
+ * Состояние случайных потоков полностью задаётся зерном и номером цикла ({@link util.RandomStreams}),
+ * а особи записываются в порядке слотов клетки, поэтому продолжение симуляции после восстановления
+ * совпадает с продолжением без остановки.
+ * <p>
+ * Запись идёт через {@link FileChannel} крупным прямым буфером во временный файл, который затем
+ * переименовывается, так что прерванная запись не портит предыдущую контрольную точку.
+ * Восстановление отображает файл в память ({@link CheckpointImage}): сразу читаются только заголовок
+ * и статистика, а особи клетки создаются при первом обращении к ней — параллельно,
+ * потоками обработки участков, уже во время первого цикла.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class IslandCheckpoint
+{
+    static final int MAGIC = 0x49534C43; // "ISLC"
+    static final short VERSION = 2;
+    static final byte END_OF_CELL = -1;
+    static final int HEADER_BYTES = Integer.BYTES * 4 + Short.BYTES * 2 + Long.BYTES;
+    static final int SPECIES_BYTES = Long.BYTES * (2 + DeathCause.values().length);
+    static final int SPECIES_HEADER_BYTES = Byte.BYTES + Integer.BYTES;
+    static final int CREATURE_BYTES = Byte.BYTES + 2 * Double.BYTES;
+    private static final int BUFFER_SIZE = 1 << 22;
+
+    private static final Encyclopedia[] SPECIES = Encyclopedia.values();
+    private static final DeathCause[] CAUSES = DeathCause.values();
+
+    /**
+     * Сохраняет состояние острова. Вызывается между циклами.
+     *
+     * @param island остров
+     * @param seed   зерно случайных потоков симуляции
+     * @param path   файл контрольной точки
+     * @throws CheckpointException при ошибке записи
+     */
+    public static void save(Island island, long seed, Path path)
+    {
+        Path temporary = path.resolveSibling(path.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporary,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING))
+        {
+            Writer writer = new Writer(channel);
+            writeHeader(writer, island, seed);
+            writeIndex(writer, island);
+            for (Cell[] cells : island.getIslandMap())
+            {
+                for (Cell cell : cells)
+                {
+                    writeCell(writer, cell.getBiota());
+                }
+            }
+            writer.flush();
+            channel.force(false);
+        }
+        catch (IOException e)
+        {
+            throw new CheckpointException("Не удалось записать контрольную точку " + path + ": " + e.getMessage());
+        }
+
+        try
+        {
+            Files.move(temporary, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+        catch (IOException e)
+        {
+            throw new CheckpointException("Не удалось сохранить контрольную точку " + path + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Открывает контрольную точку для восстановления пустого острова: восстанавливает статистику
+     * и номер цикла, а клетки помечает для чтения при первом обращении.
+     *
+     * @param island пустой остров того же размера
+     * @param path   файл контрольной точки
+     * @return зерно случайных потоков, с которым нужно продолжить симуляцию
+     * @throws CheckpointException если файл повреждён, другой версии или размер острова не совпадает
+     */
+    public static long restore(Island island, Path path)
+    {
+        return CheckpointImage.open(island, path).getSeed();
+    }
+
+    private static void writeHeader(Writer writer, Island island, long seed) throws IOException
+    {
+        ByteBuffer buffer = writer.reserve(HEADER_BYTES);
+        buffer.putInt(MAGIC);
+        buffer.putShort(VERSION);
+        buffer.putInt(island.getLength());
+        buffer.putInt(island.getHeight());
+        buffer.putInt(Statistics.getCurrentCycleNumber());
+        buffer.putLong(seed);
+        buffer.putShort((short) SPECIES.length);
+
+        for (Encyclopedia species : SPECIES)
+        {
+            buffer = writer.reserve(SPECIES_BYTES);
+            buffer.putLong(Statistics.getBreedingCount(species));
+            buffer.putLong(Statistics.getAteCount(species));
+            for (DeathCause cause : CAUSES)
+            {
+                buffer.putLong(Statistics.getDeathCount(species, cause));
+            }
+        }
+    }
+
+    /**
+     * Записывает смещения клеток. Размер клетки заранее известен по численности видов,
+     * поэтому индекс пишется перед самими клетками за один проход.
+     */
+    private static void writeIndex(Writer writer, Island island) throws IOException
+    {
+        long offset = HEADER_BYTES + (long) SPECIES.length * SPECIES_BYTES +
+                (long) (island.getCellsAmount() + 1) * Long.BYTES;
+        for (Cell[] cells : island.getIslandMap())
+        {
+            for (Cell cell : cells)
+            {
+                writer.reserve(Long.BYTES).putLong(offset);
+                offset += getCellBytes(cell.getBiota());
+            }
+        }
+        writer.reserve(Long.BYTES).putLong(offset);
+    }
+
+    private static long getCellBytes(CellBiota biota)
+    {
+        long bytes = Byte.BYTES;
+        for (int ordinal = 0; ordinal < SPECIES.length; ordinal++)
+        {
+            int amount = biota.getAmount(ordinal);
+            if (amount > 0)
+            {
+                bytes += SPECIES_HEADER_BYTES + (long) amount * CREATURE_BYTES;
+            }
+        }
+        return bytes;
+    }
+
+    private static void writeCell(Writer writer, CellBiota biota) throws IOException
+    {
+        for (int ordinal = 0; ordinal < SPECIES.length; ordinal++)
+        {
+            int amount = biota.getAmount(ordinal);
+            if (amount == 0)
+            {
+                continue;
+            }
+            writer.reserve(SPECIES_HEADER_BYTES).put((byte) ordinal).putInt(amount);
+            for (int slot = 0; slot < amount; slot++)
+            {
+                LifeForm lifeForm = biota.get(ordinal, slot);
+                writer.reserve(CREATURE_BYTES)
+                        .put((byte) lifeForm.getStateFlags())
+                        .putDouble(lifeForm.getAge())
+                        .putDouble(lifeForm.getSaturationLevel());
+            }
+        }
+        writer.reserve(Byte.BYTES).put(END_OF_CELL);
+    }
+
+    /**
+     * Накопитель записи: отдаёт буфер с гарантированным свободным местом
+     * и сбрасывает его в канал, когда место заканчивается.
+     */
+    private static final class Writer
+    {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+        Writer(FileChannel channel)
+        {
+            this.channel = channel;
+        }
+
+        ByteBuffer reserve(int bytes) throws IOException
+        {
+            if (buffer.remaining() < bytes)
+            {
+                flush();
+            }
+            return buffer;
+        }
+
+        void flush() throws IOException
+        {
+            buffer.flip();
+            while (buffer.hasRemaining())
+            {
+                channel.write(buffer);
+            }
+            buffer.clear();
+        }
+    }
+}
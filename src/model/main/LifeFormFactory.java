@@ -13,6 +13,7 @@ import java.lang.invoke.MethodType;
 import java.util.Arrays;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Фабрика для создания экземпляров живых существ на острове.
@@ -24,20 +25,49 @@ public class LifeFormFactory
 {
 
     private static final Map<Encyclopedia, MethodHandle> constructorCache = new ConcurrentHashMap<>();
+    private static final AtomicLong idCounter = new AtomicLong();
 
     /**
-     * Создаёт живое существо заданного типа с указанными параметрами.
+     * Выдаёт следующий уникальный номер существа.
+     * Вызывается при конструировании каждой формы жизни.
+     *
+     * @return новый номер, не повторяющийся в пределах запуска
+     */
+    public static long nextId()
+    {
+        return idCounter.incrementAndGet();
+    }
+
+    /**
+     * Создаёт живое существо заданного типа с указанными параметрами и помещает его в клетку.
      *
      * @param livingBeing тип существа
-     * @param x координата X
-     * @param y координата Y
+     * @param cell клетка, в которой появляется существо
      * @param age возраст
      * @param saturationLevel уровень насыщения
      * @return созданное существо
      * @throws LifeFormCreatingException если не удаётся создать экземпляр
      */
 
-    public static Living create(Encyclopedia livingBeing, int x, int y, double age, double saturationLevel)
+    public static Living create(Encyclopedia livingBeing, Cell cell, double age, double saturationLevel)
+    {
+        Living createdLivingBeing = createDetached(livingBeing, cell, age, saturationLevel);
+        cell.addLivingBeing(createdLivingBeing);
+        return createdLivingBeing;
+    }
+
+    /**
+     * Создаёт живое существо, привязанное к клетке, но не добавляет его в биоту клетки.
+     * Используется, когда существ нужно добавить позже одной партией (например, новорождённых).
+     *
+     * @param livingBeing тип существа
+     * @param cell клетка, в которой появляется существо
+     * @param age возраст
+     * @param saturationLevel уровень насыщения
+     * @return созданное существо
+     * @throws LifeFormCreatingException если не удаётся создать экземпляр
+     */
+    public static Living createDetached(Encyclopedia livingBeing, Cell cell, double age, double saturationLevel)
     {
         try
         {
@@ -63,10 +93,7 @@ public class LifeFormFactory
                 }
 
             });
-            Cell cell = Island.getCell(x, y);
-            Living createdLivingBeing = (Living) constructorHandle.invoke(cell, age, saturationLevel);
-            cell.addLivingBeing(createdLivingBeing);
-            return createdLivingBeing;
+            return (Living) constructorHandle.invoke(cell, age, saturationLevel);
         }
         catch (Throwable e) // invoke может выбросить Throwable
         {
@@ -77,14 +104,14 @@ public class LifeFormFactory
 
     /**
      * Создаёт новорожденное существо (с нулевым возрастом и полной сытостью).
+     * Новорождённый не добавляется в клетку — это делает вызывающий код.
      *
      * @param livingBeing тип существа
-     * @param x координата X
-     * @param y координата Y
+     * @param cell клетка, в которой появляется существо
      * @return созданное существо
      */
-    public static Living createNewborn(Encyclopedia livingBeing, int x, int y)
+    public static Living createNewborn(Encyclopedia livingBeing, Cell cell)
     {
-        return create(livingBeing, x, y, 0.0, Registry.getMaxSaturationLevel(livingBeing));
+        return createDetached(livingBeing, cell, 0.0, Registry.getMaxSaturationLevel(livingBeing));
     }
 }
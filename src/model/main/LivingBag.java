@@ -0,0 +1,89 @@
+package model.main;
+
+import model.LifeForm;
+import model.Living;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Контейнер особей одного вида внутри клетки.
+ * <p>
+ * Каждая особь помнит свой слот в массиве ({@link LifeForm#getCellSlot()}), поэтому:
+ * - добавление выполняется за O(1) в конец массива;
+ * - удаление выполняется за O(1): на место удаляемой особи переносится последняя;
+ * - для обхода выдаётся снимок текущего состава одной копией массива.
+ * <p>
+ * Класс не синхронизирован — доступ к нему защищает блокировка {@link CellBiota}.
+ */
+final class LivingBag
+{
+    private static final int INITIAL_CAPACITY = 8;
+
+    private LifeForm[] elements = new LifeForm[INITIAL_CAPACITY];
+    private int size;
+
+    void add(LifeForm lifeForm)
+    {
+        if (size == elements.length)
+        {
+            elements = Arrays.copyOf(elements, size * 2);
+        }
+        lifeForm.setCellSlot(size);
+        elements[size++] = lifeForm;
+    }
+
+    /**
+     * Удаляет особь по сохранённому в ней слоту.
+     *
+     * @param lifeForm удаляемая особь
+     * @return true, если особь находилась в контейнере
+     */
+    boolean remove(LifeForm lifeForm)
+    {
+        int slot = lifeForm.getCellSlot();
+        if (slot < 0 || slot >= size || elements[slot] != lifeForm)
+        {
+            return false;
+        }
+
+        int last = --size;
+        LifeForm moved = elements[last];
+        elements[slot] = moved;
+        moved.setCellSlot(slot);
+        elements[last] = null;
+        lifeForm.setCellSlot(-1);
+        return true;
+    }
+
+    LifeForm get(int slot)
+    {
+        return elements[slot];
+    }
+
+    int size()
+    {
+        return size;
+    }
+
+    boolean isEmpty()
+    {
+        return size == 0;
+    }
+
+    /**
+     * Возвращает снимок текущего состава для безопасного обхода,
+     * пока сам контейнер продолжает изменяться.
+     *
+     * @return неизменяемый список особей
+     */
+    List<Living> snapshot()
+    {
+        if (size == 0)
+        {
+            return Collections.emptyList();
+        }
+        return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(elements, size, Living[].class)));
+    }
+}
@@ -0,0 +1,78 @@
+package model.main;
+
+import model.LifeForm;
+import model.Mobile;
+import model.properties.Encyclopedia;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Существо, перемещающееся в клетку другой полосы острова, в виде для передачи между процессами.
+ * Вместе с состоянием существа передаются клетка отправления и порядковый номер отправления,
+ * чтобы процесс назначения зафиксировал прибытие в том же порядке ({@link Arrival#ORDER}),
+ * что и остров в одном процессе.
+ *
+ * @param species         вид
+ * @param age             возраст
+ * @param saturationLevel уровень насыщения
+ * @param flags           флаги текущего цикла ({@link LifeForm#getStateFlags()})
+ * @param originX         координата X клетки отправления
+ * @param originY         координата Y клетки отправления
+ * @param sequence        порядковый номер отправления из клетки
+ * @param x               координата X клетки назначения
+ * @param y               координата Y клетки назначения
+ */
+record Migrant(Encyclopedia species, double age, double saturationLevel, int flags,
+               int originX, int originY, int sequence, int x, int y)
+{
+    private static final Encyclopedia[] SPECIES = Encyclopedia.values();
+
+    /**
+     * @param arrival     прибытие, записанное в теневую клетку
+     * @param destination теневая клетка, в которую записано прибытие
+     * @return переселенец
+     */
+    static Migrant of(Arrival arrival, Cell destination)
+    {
+        LifeForm lifeForm = (LifeForm) arrival.mobile;
+        return new Migrant(lifeForm.getLivingBeingType(), lifeForm.getAge(), lifeForm.getSaturationLevel(),
+                lifeForm.getStateFlags(), arrival.origin.getX(), arrival.origin.getY(), arrival.sequence,
+                destination.getX(), destination.getY());
+    }
+
+    /**
+     * Создаёт существо в теневой клетке отправления и записывает его прибытие в клетку назначения.
+     * Клетка отправления находится не дальше скорости существа от назначения, поэтому всегда лежит
+     * в теневых строках полосы.
+     *
+     * @param island полоса острова процесса назначения
+     */
+    void admit(Island island)
+    {
+        Cell origin = island.getCell(originX, originY);
+        LifeForm lifeForm = (LifeForm) LifeFormFactory.createDetached(species, origin, age, saturationLevel);
+        lifeForm.restoreStateFlags(flags);
+        island.getCell(x, y).enqueueArrival((Mobile) lifeForm, origin, sequence);
+    }
+
+    void write(DataOutputStream out) throws IOException
+    {
+        out.writeByte(species.ordinal());
+        out.writeDouble(age);
+        out.writeDouble(saturationLevel);
+        out.writeByte(flags);
+        out.writeInt(originX);
+        out.writeInt(originY);
+        out.writeInt(sequence);
+        out.writeInt(x);
+        out.writeInt(y);
+    }
+
+    static Migrant read(DataInputStream in) throws IOException
+    {
+        return new Migrant(SPECIES[in.readByte()], in.readDouble(), in.readDouble(), in.readByte(),
+                in.readInt(), in.readInt(), in.readInt(), in.readInt(), in.readInt());
+    }
+}
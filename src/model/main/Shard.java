@@ -0,0 +1,42 @@
+package model.main;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Горизонтальная полоса строк острова, которую обрабатывает один процесс {@link ShardWorker}.
+ *
+ * @param index номер полосы
+ * @param fromY первая строка полосы
+ * @param toY   строка за последней строкой полосы
+ */
+record Shard(int index, int fromY, int toY)
+{
+    /**
+     * Делит строки острова на полосы почти равной высоты.
+     *
+     * @param height высота острова
+     * @param shards количество полос (не больше высоты)
+     * @return полосы сверху вниз
+     */
+    static List<Shard> split(int height, int shards)
+    {
+        List<Shard> bands = new ArrayList<>(shards);
+        for (int i = 0; i < shards; i++)
+        {
+            bands.add(new Shard(i, height * i / shards, height * (i + 1) / shards));
+        }
+        return bands;
+    }
+
+    boolean owns(int y)
+    {
+        return y >= fromY && y < toY;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Полоса #" + index + " [" + fromY + ".." + (toY - 1) + "]y";
+    }
+}
@@ -0,0 +1,175 @@
+package model.main;
+
+import model.properties.DeathCause;
+import model.properties.Encyclopedia;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Соединение координатора {@link ShardCoordinator} с процессом полосы {@link ShardWorker}
+ * через локальный сокет. Сообщения записываются двоичными потоками {@link DataOutputStream}
+ * и отправляются одним сбросом буфера; каждая сторона читает их в том же порядке, в каком они отправлены.
+ * <p>
+ * Порядок обмена в одном цикле:
+ * <pre>
+ * координатор → полоса: MOVE
+ * полоса → координатор: переселенцы, записанные в теневые клетки
+ * координатор → полоса: SETTLE, переселенцы в клетки полосы
+ * полоса → координатор: накопленные счётчики статистики полосы
+ * </pre>
+ * После последнего цикла координатор отправляет STOP и получает строки отчёта полосы.
+ */
+final class ShardChannel implements AutoCloseable
+{
+    /**
+     * Команды координатора процессу полосы.
+     */
+    enum Command
+    {
+        MOVE, SETTLE, STOP
+    }
+
+    private static final Encyclopedia[] SPECIES = Encyclopedia.values();
+    private static final DeathCause[] CAUSES = DeathCause.values();
+    private static final Command[] COMMANDS = Command.values();
+
+    /**
+     * Количество счётчиков одного вида в сообщении статистики: численность, размножения, питания и смерти по причинам.
+     */
+    static final int COUNTERS_PER_SPECIES = 3 + CAUSES.length;
+
+    private final Socket socket;
+    private final DataInputStream in;
+    private final DataOutputStream out;
+
+    ShardChannel(Socket socket) throws IOException
+    {
+        this.socket = socket;
+        socket.setTcpNoDelay(true);
+        this.in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+        this.out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+    }
+
+    /**
+     * Подключается к координатору, слушающему локальный порт.
+     *
+     * @param port порт координатора
+     * @return соединение
+     */
+    static ShardChannel connect(int port) throws IOException
+    {
+        return new ShardChannel(new Socket(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * Первое сообщение процесса полосы: номер его полосы.
+     */
+    void sendHello(int shard) throws IOException
+    {
+        out.writeInt(shard);
+        out.flush();
+    }
+
+    int readHello() throws IOException
+    {
+        return in.readInt();
+    }
+
+    void sendCommand(Command command) throws IOException
+    {
+        out.writeByte(command.ordinal());
+        out.flush();
+    }
+
+    Command readCommand() throws IOException
+    {
+        return COMMANDS[in.readByte()];
+    }
+
+    void sendMigrants(List<Migrant> migrants) throws IOException
+    {
+        out.writeInt(migrants.size());
+        for (Migrant migrant : migrants)
+        {
+            migrant.write(out);
+        }
+        out.flush();
+    }
+
+    List<Migrant> readMigrants() throws IOException
+    {
+        int amount = in.readInt();
+        List<Migrant> migrants = new ArrayList<>(amount);
+        for (int i = 0; i < amount; i++)
+        {
+            migrants.add(Migrant.read(in));
+        }
+        return migrants;
+    }
+
+    /**
+     * Отправляет текущую численность и накопленные счётчики {@link Statistics} процесса полосы.
+     */
+    void sendStatistics() throws IOException
+    {
+        for (Encyclopedia species : SPECIES)
+        {
+            out.writeLong(Statistics.getPopulation(species));
+            out.writeLong(Statistics.getBreedingCount(species));
+            out.writeLong(Statistics.getAteCount(species));
+            for (DeathCause cause : CAUSES)
+            {
+                out.writeLong(Statistics.getDeathCount(species, cause));
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Читает счётчики полосы и прибавляет их к сумме по всем полосам.
+     *
+     * @param totals сумма: {@link #COUNTERS_PER_SPECIES} счётчиков на вид по {@link Encyclopedia#ordinal()}
+     */
+    void readStatistics(long[] totals) throws IOException
+    {
+        for (int i = 0; i < SPECIES.length * COUNTERS_PER_SPECIES; i++)
+        {
+            totals[i] += in.readLong();
+        }
+    }
+
+    void sendLines(List<String> lines) throws IOException
+    {
+        out.writeInt(lines.size());
+        for (String line : lines)
+        {
+            out.writeUTF(line);
+        }
+        out.flush();
+    }
+
+    List<String> readLines() throws IOException
+    {
+        int amount = in.readInt();
+        List<String> lines = new ArrayList<>(amount);
+        for (int i = 0; i < amount; i++)
+        {
+            lines.add(in.readUTF());
+        }
+        return lines;
+    }
+
+    @Override
+    public void close() throws IOException
+    {
+        socket.close();
+    }
+}
@@ -0,0 +1,253 @@
+package model.main;
+
+import exceptions.ShardException;
+import model.properties.DeathCause;
+import model.properties.Encyclopedia;
+import util.RenderMode;
+import util.SimulationConfig;
+import view.Drawer;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.SocketTimeoutException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Координатор симуляции острова, разделённого на горизонтальные полосы между процессами {@link ShardWorker}.
+ * <p>
+ * Координатор запускает по процессу на полосу и соединяется с ними через локальные сокеты ({@link ShardChannel}).
+ * В каждом цикле он:
+ * - даёт всем полосам команду MOVE и собирает переселенцев, ушедших за границы полос;
+ * - передаёт переселенцев полосам назначения вместе с командой SETTLE;
+ * - суммирует счётчики статистики полос, записывает цикл в историю и проверяет условия завершения.
+ * <p>
+ * Поле не отрисовывается: в конце выводятся отчёты каждой полосы и общая история численности видов.
+ * Параметры JVM процессов полос (например, размер кучи) задаются переменной окружения {@code JAVA_TOOL_OPTIONS}.
+ */
+public class ShardCoordinator
+{
+    private static final int CONNECT_TIMEOUT_MILLIS = 60_000;
+    private static final int EXIT_TIMEOUT_SECONDS = 10;
+    private static final Encyclopedia[] SPECIES = Encyclopedia.values();
+    private static final DeathCause[] CAUSES = DeathCause.values();
+
+    private final SimulationConfig config;
+    private final List<Shard> shards;
+    private final ShardChannel[] channels;
+    private final List<Process> workers = new ArrayList<>();
+
+    private long migrantsAmount;
+    private long exchangeNanos;
+
+    public ShardCoordinator(SimulationConfig config)
+    {
+        this.config = config;
+        this.shards = Shard.split(config.getHeight(), config.getShards());
+        this.channels = new ShardChannel[shards.size()];
+    }
+
+    /**
+     * Запускает процессы полос, выполняет симуляцию до выполнения условий завершения и останавливает процессы.
+     */
+    public void run()
+    {
+        try (ServerSocket server = new ServerSocket(0, shards.size(), InetAddress.getLoopbackAddress()))
+        {
+            server.setSoTimeout(CONNECT_TIMEOUT_MILLIS);
+            for (Shard shard : shards)
+            {
+                workers.add(startWorker(shard, server.getLocalPort()));
+            }
+            accept(server);
+
+            do
+            {
+                simulate();
+            }
+            while (Statistics.checkConditions(config.getMaxCycles()));
+
+            stop();
+        }
+        catch (SocketTimeoutException _)
+        {
+            throw new ShardException("Процессы полос не подключились за " + CONNECT_TIMEOUT_MILLIS / 1000 + " с");
+        }
+        catch (IOException e)
+        {
+            throw new ShardException("Обмен с процессами полос прерван: " + e.getMessage());
+        }
+        finally
+        {
+            close();
+        }
+    }
+
+    /**
+     * Запускает процесс полосы той же JVM и с тем же classpath, передавая ему все параметры симуляции явно,
+     * поэтому процесс не зависит от файла настроек.
+     */
+    private Process startWorker(Shard shard, int port) throws IOException
+    {
+        List<String> command = List.of(
+                Path.of(System.getProperty("java.home"), "bin", "java").toString(),
+                "--enable-preview",
+                "-Dstdout.encoding=UTF-8",
+                "-cp", System.getProperty("java.class.path"),
+                ShardWorker.class.getName(),
+                ShardWorker.COORDINATOR_ARGUMENT + port,
+                ShardWorker.SHARD_ARGUMENT + shard.index(),
+                "--length=" + config.getLength(),
+                "--height=" + config.getHeight(),
+                "--threads=" + config.getThreads(),
+                "--cycles=" + config.getMaxCycles(),
+                "--tile=" + config.getTileSize(),
+                "--engine=" + config.getEngine(),
+                "--seed=" + config.getSeed(),
+                "--render=" + RenderMode.HEADLESS,
+                "--shards=" + config.getShards(),
+                "--columnar=false",
+                "--reload=false",
+                "--checkpoint=",
+                "--restore=");
+        return new ProcessBuilder(command)
+                .directory(new File(System.getProperty("user.dir")))
+                .inheritIO()
+                .start();
+    }
+
+    /**
+     * Принимает подключения всех процессов полос. Первое сообщение каждого — номер его полосы.
+     */
+    private void accept(ServerSocket server) throws IOException
+    {
+        for (int i = 0; i < channels.length; i++)
+        {
+            ShardChannel channel = new ShardChannel(server.accept());
+            channels[channel.readHello()] = channel;
+        }
+    }
+
+    /**
+     * Выполняет один цикл на всех полосах и сводит их статистику.
+     */
+    private void simulate() throws IOException
+    {
+        for (ShardChannel channel : channels)
+        {
+            channel.sendCommand(ShardChannel.Command.MOVE);
+        }
+
+        long start = System.nanoTime();
+        List<List<Migrant>> inbound = new ArrayList<>(shards.size());
+        for (int i = 0; i < shards.size(); i++)
+        {
+            inbound.add(new ArrayList<>());
+        }
+        for (ShardChannel channel : channels)
+        {
+            for (Migrant migrant : channel.readMigrants())
+            {
+                inbound.get(findShard(migrant.y())).add(migrant);
+                migrantsAmount++;
+            }
+        }
+        for (int i = 0; i < channels.length; i++)
+        {
+            channels[i].sendCommand(ShardChannel.Command.SETTLE);
+            channels[i].sendMigrants(inbound.get(i));
+        }
+        exchangeNanos += System.nanoTime() - start;
+
+        long[] totals = new long[SPECIES.length * ShardChannel.COUNTERS_PER_SPECIES];
+        for (ShardChannel channel : channels)
+        {
+            channel.readStatistics(totals);
+        }
+        for (Encyclopedia species : SPECIES)
+        {
+            int offset = species.ordinal() * ShardChannel.COUNTERS_PER_SPECIES;
+            Statistics.restorePopulation(species, totals[offset]);
+            Statistics.restoreCounters(species, totals[offset + 1], totals[offset + 2],
+                    Arrays.copyOfRange(totals, offset + 3, offset + 3 + CAUSES.length));
+        }
+        Statistics.nextCycle();
+    }
+
+    private int findShard(int y)
+    {
+        for (Shard shard : shards)
+        {
+            if (shard.owns(y))
+            {
+                return shard.index();
+            }
+        }
+        throw new ShardException("Строка " + y + " не принадлежит ни одной полосе");
+    }
+
+    /**
+     * Останавливает процессы полос и выводит их отчёты и общую историю численности видов.
+     */
+    private void stop() throws IOException
+    {
+        List<List<String>> reports = new ArrayList<>(channels.length);
+        for (ShardChannel channel : channels)
+        {
+            channel.sendCommand(ShardChannel.Command.STOP);
+            reports.add(channel.readLines());
+        }
+
+        int cycles = Statistics.getCurrentCycleNumber();
+        Drawer.drawReport("Обмен между процессами", List.of(String.format(
+                "Полос: %d, переселенцев: %d (%.1f за цикл), обмен в среднем %.3f мс за цикл",
+                shards.size(), migrantsAmount, (double) migrantsAmount / cycles, exchangeNanos / 1e6 / cycles)));
+        for (int i = 0; i < reports.size(); i++)
+        {
+            Drawer.drawReport("Полоса " + i, reports.get(i));
+        }
+        Drawer.drawReport("Численность видов", Statistics.getHistory().getReport());
+    }
+
+    /**
+     * Закрывает соединения и дожидается завершения процессов полос; не завершившиеся вовремя останавливаются.
+     */
+    private void close()
+    {
+        for (ShardChannel channel : channels)
+        {
+            if (channel == null)
+            {
+                continue;
+            }
+            try
+            {
+                channel.close();
+            }
+            catch (IOException e)
+            {
+                System.err.println("Не удалось закрыть соединение с процессом полосы: " + e.getMessage());
+            }
+        }
+        for (Process worker : workers)
+        {
+            try
+            {
+                if (!worker.waitFor(EXIT_TIMEOUT_SECONDS, TimeUnit.SECONDS))
+                {
+                    worker.destroyForcibly();
+                }
+            }
+            catch (InterruptedException _)
+            {
+                worker.destroyForcibly();
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+}
@@ -0,0 +1,185 @@
+package model.main;
+
+import exceptions.ShardException;
+import model.main.tasks.Phase;
+import model.properties.Encyclopedia;
+import model.properties.Registry;
+import util.SimulationConfig;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Процесс, обрабатывающий одну горизонтальную полосу острова по командам {@link ShardCoordinator}.
+ * <p>
+ * Полоса хранит свои строки и теневые строки глубиной в наибольшую скорость видов по обе стороны:
+ * существо за один цикл уходит не дальше своей скорости, поэтому выбор клетки назначения
+ * у краёв полосы видит те же соседние клетки, что и на целом острове. Прибытия, записанные
+ * в теневые клетки на этапе MOVE, отправляются координатору, а переселенцы из соседних полос
+ * записываются в клетки полосы перед этапом SETTLE. Случайные потоки клеток зависят только
+ * от зерна и координат, поэтому полосы вместе повторяют симуляцию острова в одном процессе.
+ */
+public final class ShardWorker
+{
+    static final String COORDINATOR_ARGUMENT = "--coordinator=";
+    static final String SHARD_ARGUMENT = "--shard=";
+
+    private final Island island;
+    private final Shard shard;
+
+    ShardWorker(SimulationConfig config, Shard shard)
+    {
+        this.shard = shard;
+        this.island = new Island(config, shard.fromY(), shard.toY(), getMargin());
+    }
+
+    /**
+     * Запускается координатором с аргументами {@code --coordinator=порт --shard=номер}
+     * и параметрами симуляции в виде {@code --ключ=значение}.
+     */
+    public static void main(String[] args)
+    {
+        int port = -1;
+        int index = -1;
+        List<String> configArguments = new ArrayList<>();
+        for (String arg : args)
+        {
+            if (arg.startsWith(COORDINATOR_ARGUMENT))
+            {
+                port = Integer.parseInt(arg.substring(COORDINATOR_ARGUMENT.length()));
+            }
+            else if (arg.startsWith(SHARD_ARGUMENT))
+            {
+                index = Integer.parseInt(arg.substring(SHARD_ARGUMENT.length()));
+            }
+            else
+            {
+                configArguments.add(arg);
+            }
+        }
+        if (port < 0 || index < 0)
+        {
+            throw new ShardException("Процесс полосы запускается координатором с аргументами " +
+                    COORDINATOR_ARGUMENT + "порт и " + SHARD_ARGUMENT + "номер");
+        }
+
+        SimulationConfig config = SimulationConfig.load(configArguments.toArray(String[]::new));
+        Shard shard = Shard.split(config.getHeight(), config.getShards()).get(index);
+        try (ShardChannel channel = ShardChannel.connect(port))
+        {
+            channel.sendHello(index);
+            ShardWorker worker = new ShardWorker(config, shard);
+            try
+            {
+                worker.serve(channel);
+            }
+            finally
+            {
+                worker.island.shutdown();
+            }
+        }
+        catch (IOException e)
+        {
+            throw new ShardException(shard + ": обмен с координатором прерван: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Глубина теневых строк: наибольшее количество шагов, которое существо может сделать за цикл.
+     */
+    private static int getMargin()
+    {
+        int margin = 0;
+        for (Encyclopedia species : Encyclopedia.values())
+        {
+            margin = Math.max(margin, Registry.getMaxSpeed(species));
+        }
+        return margin;
+    }
+
+    /**
+     * Заселяет полосу и выполняет команды координатора до команды STOP.
+     *
+     * @param channel соединение с координатором
+     */
+    private void serve(ShardChannel channel) throws IOException
+    {
+        island.populateRandomly();
+        while (true)
+        {
+            switch (channel.readCommand())
+            {
+                case MOVE -> channel.sendMigrants(move());
+                case SETTLE ->
+                {
+                    settle(channel.readMigrants());
+                    channel.sendStatistics();
+                }
+                case STOP ->
+                {
+                    channel.sendLines(getReport());
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Выполняет этап MOVE и забирает прибытия, записанные в теневые клетки.
+     *
+     * @return переселенцы в соседние полосы
+     */
+    private List<Migrant> move()
+    {
+        island.getMetrics().beginCycle();
+        island.runPhase(Phase.MOVE);
+
+        List<Migrant> emigrants = new ArrayList<>();
+        Cell[][] islandMap = island.getIslandMap();
+        for (int y = 0; y < islandMap.length; y++)
+        {
+            if (islandMap[y] == null || shard.owns(y))
+            {
+                continue;
+            }
+            for (Cell cell : islandMap[y])
+            {
+                for (Arrival arrival = cell.takeArrivals(); arrival != null; arrival = arrival.next)
+                {
+                    emigrants.add(Migrant.of(arrival, cell));
+                }
+            }
+        }
+        return emigrants;
+    }
+
+    /**
+     * Записывает прибытия переселенцев, выполняет остальные этапы цикла и закрывает цикл статистики.
+     *
+     * @param immigrants переселенцы в клетки полосы
+     */
+    private void settle(List<Migrant> immigrants)
+    {
+        SimulationMetrics metrics = island.getMetrics();
+        for (Migrant immigrant : immigrants)
+        {
+            immigrant.admit(island);
+        }
+        metrics.lap(SimulationMetrics.Step.EXCHANGE);
+        island.runPhase(Phase.SETTLE);
+        island.runPhase(Phase.LIVE);
+        Statistics.nextCycle();
+        metrics.lap(SimulationMetrics.Step.STATISTICS);
+        metrics.endCycle();
+    }
+
+    private List<String> getReport()
+    {
+        List<String> lines = new ArrayList<>();
+        lines.add(shard + ", клеток: " + island.getCellsAmount());
+        lines.addAll(island.getEngineReport());
+        lines.addAll(island.getMetrics().getReport());
+        return lines;
+    }
+}
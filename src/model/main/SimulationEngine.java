@@ -0,0 +1,60 @@
+package model.main;
+
+import model.main.tasks.Phase;
+import util.SimulationConfig;
+
+import java.util.List;
+
+/**
+ * Движок параллельного выполнения этапов цикла симуляции.
+ * Реализация выбирается при запуске параметром {@link SimulationConfig#getEngine()}.
+ */
+public interface SimulationEngine
+{
+    /**
+     * Выполняет этап цикла на всём острове и возвращает управление после его завершения.
+     *
+     * @param phase     этап цикла
+     * @param phaseSeed зерно этапа для потоков случайных чисел клеток
+     */
+    void runPhase(Phase phase, long phaseSeed);
+
+    /**
+     * Выполняет произвольный набор задач и ждёт завершения всех.
+     *
+     * @param tasks задачи
+     */
+    void runAll(List<? extends Runnable> tasks);
+
+    /**
+     * @return замеры времени этапов, простоя потоков и глубины очереди задач
+     */
+    EngineStatistics getStatistics();
+
+    /**
+     * @return строки итогового отчёта о времени выполнения этапов
+     */
+    List<String> getReport();
+
+    /**
+     * Останавливает потоки движка.
+     */
+    void shutdown();
+
+    /**
+     * Создаёт движок, указанный в конфигурации.
+     *
+     * @param island остров
+     * @param config параметры запуска
+     * @return движок
+     */
+    static SimulationEngine create(Island island, SimulationConfig config)
+    {
+        return switch (config.getEngine())
+        {
+            case POOL -> new TileScheduler(island, config.getThreads(), config.getTileSize());
+            case FORK_JOIN -> new ForkJoinEngine(island, config.getThreads(), config.getTileSize());
+            case VIRTUAL -> new VirtualThreadEngine(island, config.getThreads(), config.getTileSize());
+        };
+    }
+}
@@ -0,0 +1,429 @@
+package model.main;
+
+import com.sun.management.ThreadMXBean;
+import model.main.tasks.Phase;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Поцикловые замеры производительности симуляции:
+ * - время каждого шага цикла {@link Step}: применение параметров видов, этапы MOVE, SETTLE и LIVE,
+ *   запись статистики и подготовка кадра;
+ * - количество существ, обработанных за секунду;
+ * - наибольшая глубина очереди задач движка и средний простой потока на барьере каждого этапа;
+ * - память, выделенная всеми потоками за цикл ({@link ThreadMXBean#getTotalThreadAllocatedBytes()}).
+ * <p>
+ * Значения хранятся в растущих примитивных массивах по номеру цикла, как в {@link StatisticsHistory}:
+ * запись цикла — десяток чтений таймера без создания объектов, поэтому замеры включены всегда.
+ * По массивам строится итоговый отчёт с процентилями, а показатели последнего цикла
+ * публикуются через JMX ({@link SimulationMetricsMBean}).
+ * <p>
+ * Запись выполняется только из основного потока между этапами. Цикл становится виден через JMX
+ * после записи всех его колонок (volatile-счётчик {@link #cyclesAmount}).
+ */
+public final class SimulationMetrics implements SimulationMetricsMBean
+{
+    /**
+     * Шаги одного цикла симуляции в порядке выполнения.
+     * EXCHANGE — обмен переселенцами с соседними полосами, только в процессах {@link ShardWorker}.
+     */
+    public enum Step
+    {
+        SPECIES, MOVE, EXCHANGE, SETTLE, LIVE, STATISTICS, FRAME;
+
+        static Step of(Phase phase)
+        {
+            return switch (phase)
+            {
+                case MOVE -> MOVE;
+                case SETTLE -> SETTLE;
+                case LIVE -> LIVE;
+            };
+        }
+    }
+
+    private static final String OBJECT_NAME = "model.main:type=SimulationMetrics";
+    private static final Step[] STEPS = Step.values();
+    private static final Phase[] PHASES = Phase.values();
+    private static final int INITIAL_CYCLES = 256;
+    private static final int[] PERCENTILES = {50, 90, 99};
+    private static final double MEGABYTE = 1024.0 * 1024.0;
+
+    private final EngineStatistics engineStatistics;
+
+    /**
+     * Источник замера выделенной памяти или null, если JVM его не поддерживает.
+     */
+    private final ThreadMXBean threadBean;
+
+    private ObjectName objectName;
+
+    private final long[][] stepNanos = new long[STEPS.length][];
+    private final long[][] queueDepth = new long[PHASES.length][];
+    private final long[][] barrierWaitNanos = new long[PHASES.length][];
+    private long[] cycleNanos = new long[INITIAL_CYCLES];
+    private long[] creatures = new long[INITIAL_CYCLES];
+    private long[] allocatedBytes = new long[INITIAL_CYCLES];
+
+    private volatile int cyclesAmount;
+
+    private long cycleStart;
+    private long lapStart;
+    private long allocatedAtStart;
+
+    /**
+     * @param engineStatistics замеры движка, из которых берутся глубина очереди и простой на барьере
+     */
+    SimulationMetrics(EngineStatistics engineStatistics)
+    {
+        this.engineStatistics = engineStatistics;
+        this.threadBean = ManagementFactory.getThreadMXBean() instanceof ThreadMXBean bean &&
+                bean.isThreadAllocatedMemorySupported() && bean.isThreadAllocatedMemoryEnabled() ? bean : null;
+        for (int i = 0; i < STEPS.length; i++)
+        {
+            stepNanos[i] = new long[INITIAL_CYCLES];
+        }
+        for (int i = 0; i < PHASES.length; i++)
+        {
+            queueDepth[i] = new long[INITIAL_CYCLES];
+            barrierWaitNanos[i] = new long[INITIAL_CYCLES];
+        }
+    }
+
+    /**
+     * Публикует замеры в платформенном MBean-сервере. Ошибка публикации не мешает симуляции.
+     */
+    void register()
+    {
+        try
+        {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(this, name);
+            objectName = name;
+        }
+        catch (JMException e)
+        {
+            System.err.println("Не удалось опубликовать показатели симуляции через JMX: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Снимает замеры с публикации, чтобы следующий остров в этом процессе мог опубликовать свои.
+     */
+    void unregister()
+    {
+        if (objectName == null)
+        {
+            return;
+        }
+        try
+        {
+            ManagementFactory.getPlatformMBeanServer().unregisterMBean(objectName);
+        }
+        catch (JMException _)
+        {
+            // уже снят с публикации
+        }
+        objectName = null;
+    }
+
+    /**
+     * Начинает замер цикла: запоминает численность существ, выделенную память и время начала.
+     */
+    void beginCycle()
+    {
+        ensureCapacity();
+        creatures[cyclesAmount] = Statistics.getPopulation();
+        allocatedAtStart = allocatedBytes();
+        cycleStart = System.nanoTime();
+        lapStart = cycleStart;
+    }
+
+    /**
+     * Записывает время шага, прошедшее с начала цикла или с предыдущего шага.
+     *
+     * @param step завершившийся шаг
+     */
+    void lap(Step step)
+    {
+        long now = System.nanoTime();
+        stepNanos[step.ordinal()][cyclesAmount] = now - lapStart;
+        lapStart = now;
+    }
+
+    /**
+     * Записывает время этапа, выполненного движком, вместе с глубиной очереди и простоем на барьере.
+     *
+     * @param phase завершившийся этап
+     */
+    void phaseFinished(Phase phase)
+    {
+        lap(Step.of(phase));
+        queueDepth[phase.ordinal()][cyclesAmount] = engineStatistics.getLastQueueDepth();
+        barrierWaitNanos[phase.ordinal()][cyclesAmount] = engineStatistics.getLastBarrierWaitNanos();
+    }
+
+    /**
+     * Завершает замер цикла и делает его видимым через JMX.
+     */
+    void endCycle()
+    {
+        int cycle = cyclesAmount;
+        cycleNanos[cycle] = System.nanoTime() - cycleStart;
+        long allocated = allocatedBytes();
+        allocatedBytes[cycle] = allocated < 0 || allocatedAtStart < 0 ? -1 : allocated - allocatedAtStart;
+        cyclesAmount = cycle + 1;
+    }
+
+    /**
+     * Итоговый отчёт: процентили времени цикла и каждого шага, пропускная способность,
+     * очередь задач и простой на барьере по этапам и по потокам, выделение памяти.
+     *
+     * @return строки отчёта
+     */
+    public List<String> getReport()
+    {
+        int cycles = cyclesAmount;
+        List<String> lines = new ArrayList<>();
+        if (cycles == 0)
+        {
+            return lines;
+        }
+
+        long totalNanos = sum(cycleNanos, cycles);
+        lines.add(String.format("Циклов: %d, цикл в среднем %.3f мс, %s",
+                cycles, totalNanos / 1e6 / cycles, formatMillis(sorted(cycleNanos, cycles))));
+        for (Step step : STEPS)
+        {
+            long[] column = stepNanos[step.ordinal()];
+            long stepTotal = sum(column, cycles);
+            if (stepTotal > 0)
+            {
+                lines.add(String.format("%-10s %s, доля %.1f%%",
+                        step, formatMillis(sorted(column, cycles)), stepTotal * 100.0 / totalNanos));
+            }
+        }
+
+        long[] throughput = new long[cycles];
+        for (int cycle = 0; cycle < cycles; cycle++)
+        {
+            throughput[cycle] = creaturesPerSecond(cycle);
+        }
+        Arrays.sort(throughput);
+        lines.add(String.format("Существ в секунду: p50 %,d, в 10%% худших циклов ниже %,d, мин %,d",
+                percentile(throughput, 50), percentile(throughput, 10), throughput[0]));
+
+        for (Phase phase : PHASES)
+        {
+            long[] depth = sorted(queueDepth[phase.ordinal()], cycles);
+            long[] wait = sorted(barrierWaitNanos[phase.ordinal()], cycles);
+            if (depth[cycles - 1] == 0 && wait[cycles - 1] == 0)
+            {
+                continue;
+            }
+            lines.add(String.format("%s: очередь задач p50 %d, p99 %d, макс %d; простой на барьере p50 %.3f мс, p99 %.3f мс на поток",
+                    phase, percentile(depth, 50), percentile(depth, 99), depth[cycles - 1],
+                    percentile(wait, 50) / 1e6, percentile(wait, 99) / 1e6));
+        }
+
+        long[] workerWait = engineStatistics.getWorkerWaitNanos();
+        if (workerWait.length > 0)
+        {
+            StringBuilder line = new StringBuilder("Простой на барьерах по потокам, мс:");
+            for (long nanos : workerWait)
+            {
+                line.append(String.format(" %.1f", nanos / 1e6));
+            }
+            lines.add(line.toString());
+        }
+
+        if (allocatedBytes[0] >= 0)
+        {
+            long[] allocated = sorted(allocatedBytes, cycles);
+            lines.add(String.format("Выделено памяти за цикл: p50 %.1f МБ, p99 %.1f МБ, макс %.1f МБ; в среднем %.1f МБ/с",
+                    percentile(allocated, 50) / MEGABYTE, percentile(allocated, 99) / MEGABYTE,
+                    allocated[cycles - 1] / MEGABYTE, getAllocationRate()));
+        }
+        return lines;
+    }
+
+    @Override
+    public int getCycles()
+    {
+        return cyclesAmount;
+    }
+
+    @Override
+    public double getLastCycleMillis()
+    {
+        int cycle = cyclesAmount - 1;
+        return cycle < 0 ? 0 : cycleNanos[cycle] / 1e6;
+    }
+
+    @Override
+    public double getLastMoveMillis()
+    {
+        return getLastStepMillis(Step.MOVE);
+    }
+
+    @Override
+    public double getLastSettleMillis()
+    {
+        return getLastStepMillis(Step.SETTLE);
+    }
+
+    @Override
+    public double getLastLiveMillis()
+    {
+        return getLastStepMillis(Step.LIVE);
+    }
+
+    @Override
+    public double getLastStatisticsMillis()
+    {
+        return getLastStepMillis(Step.STATISTICS);
+    }
+
+    @Override
+    public double getLastFrameMillis()
+    {
+        return getLastStepMillis(Step.FRAME);
+    }
+
+    @Override
+    public double getLastCreaturesPerSecond()
+    {
+        int cycle = cyclesAmount - 1;
+        return cycle < 0 ? 0 : creaturesPerSecond(cycle);
+    }
+
+    @Override
+    public int getLastQueueDepth()
+    {
+        int cycle = cyclesAmount - 1;
+        long depth = 0;
+        for (int i = 0; cycle >= 0 && i < PHASES.length; i++)
+        {
+            depth = Math.max(depth, queueDepth[i][cycle]);
+        }
+        return (int) depth;
+    }
+
+    @Override
+    public double getLastBarrierWaitMillis()
+    {
+        int cycle = cyclesAmount - 1;
+        long wait = 0;
+        for (int i = 0; cycle >= 0 && i < PHASES.length; i++)
+        {
+            wait += barrierWaitNanos[i][cycle];
+        }
+        return wait / 1e6;
+    }
+
+    @Override
+    public double getLastAllocatedMegabytes()
+    {
+        int cycle = cyclesAmount - 1;
+        return cycle < 0 || allocatedBytes[cycle] < 0 ? -1 : allocatedBytes[cycle] / MEGABYTE;
+    }
+
+    @Override
+    public double getAllocationRate()
+    {
+        int cycles = cyclesAmount;
+        long nanos = sum(cycleNanos, cycles);
+        if (cycles == 0 || nanos == 0 || allocatedBytes[0] < 0)
+        {
+            return 0;
+        }
+        return sum(allocatedBytes, cycles) / MEGABYTE / (nanos / 1e9);
+    }
+
+    @Override
+    public String[] getSummary()
+    {
+        return getReport().toArray(String[]::new);
+    }
+
+    private double getLastStepMillis(Step step)
+    {
+        int cycle = cyclesAmount - 1;
+        return cycle < 0 ? 0 : stepNanos[step.ordinal()][cycle] / 1e6;
+    }
+
+    private long creaturesPerSecond(int cycle)
+    {
+        return cycleNanos[cycle] == 0 ? 0 : creatures[cycle] * 1_000_000_000L / cycleNanos[cycle];
+    }
+
+    private long allocatedBytes()
+    {
+        return threadBean == null ? -1 : threadBean.getTotalThreadAllocatedBytes();
+    }
+
+    private static String formatMillis(long[] sortedNanos)
+    {
+        StringBuilder line = new StringBuilder();
+        for (int percent : PERCENTILES)
+        {
+            line.append(String.format("p%d %.3f мс, ", percent, percentile(sortedNanos, percent) / 1e6));
+        }
+        return line.append(String.format("макс %.3f мс", sortedNanos[sortedNanos.length - 1] / 1e6)).toString();
+    }
+
+    /**
+     * Процентиль методом ближайшего ранга.
+     *
+     * @param sorted отсортированные значения
+     * @param percent процент от 1 до 100
+     */
+    private static long percentile(long[] sorted, int percent)
+    {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+    private static long[] sorted(long[] column, int cycles)
+    {
+        long[] values = Arrays.copyOf(column, cycles);
+        Arrays.sort(values);
+        return values;
+    }
+
+    private static long sum(long[] column, int cycles)
+    {
+        long total = 0;
+        for (int cycle = 0; cycle < cycles; cycle++)
+        {
+            total += column[cycle];
+        }
+        return total;
+    }
+
+    private void ensureCapacity()
+    {
+        if (cyclesAmount < cycleNanos.length)
+        {
+            return;
+        }
+        int capacity = cycleNanos.length * 2;
+        for (int i = 0; i < stepNanos.length; i++)
+        {
+            stepNanos[i] = Arrays.copyOf(stepNanos[i], capacity);
+        }
+        for (int i = 0; i < PHASES.length; i++)
+        {
+            queueDepth[i] = Arrays.copyOf(queueDepth[i], capacity);
+            barrierWaitNanos[i] = Arrays.copyOf(barrierWaitNanos[i], capacity);
+        }
+        cycleNanos = Arrays.copyOf(cycleNanos, capacity);
+        creatures = Arrays.copyOf(creatures, capacity);
+        allocatedBytes = Arrays.copyOf(allocatedBytes, capacity);
+    }
+}
@@ -0,0 +1,47 @@
+package model.main;
+
+/**
+ * JMX-интерфейс {@link SimulationMetrics}: показатели последнего завершённого цикла
+ * и сводка с процентилями по всем циклам. Доступен в JConsole и VisualVM как
+ * {@code model.main:type=SimulationMetrics}.
+ */
+public interface SimulationMetricsMBean
+{
+    int getCycles();
+
+    double getLastCycleMillis();
+
+    double getLastMoveMillis();
+
+    double getLastSettleMillis();
+
+    double getLastLiveMillis();
+
+    double getLastStatisticsMillis();
+
+    double getLastFrameMillis();
+
+    double getLastCreaturesPerSecond();
+
+    /**
+     * @return наибольшая глубина очереди задач движка среди этапов последнего цикла
+     */
+    int getLastQueueDepth();
+
+    /**
+     * @return средний простой одного потока на барьерах всех этапов последнего цикла
+     */
+    double getLastBarrierWaitMillis();
+
+    /**
+     * @return память, выделенная всеми потоками за последний цикл, в мегабайтах; -1, если замер недоступен
+     */
+    double getLastAllocatedMegabytes();
+
+    /**
+     * @return средняя скорость выделения памяти за все циклы в мегабайтах в секунду
+     */
+    double getAllocationRate();
+
+    String[] getSummary();
+}
@@ -10,15 +10,16 @@ import model.properties.LivingBeingType;
 import util.GeneralConstants;
 import view.Drawer;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.Arrays;
+import java.util.concurrent.atomic.LongAdder;
 /**
  * Сервис для сбора и анализа статистики симуляции.
  * Отслеживает:
  * - смерти по причинам;
  * - размножения;
  * - случаи потребления пищи;
- * - наличие различных типов существ на клетках.
+ * - текущую численность видов и её историю по циклам ({@link StatisticsHistory});
+ * - численность категорий существ (животные, хищники, травоядные, растения).
  * Также отвечает за определение условий завершения симуляции.
  */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -27,20 +28,51 @@ public class Statistics
     @Getter
     private static int currentCycleNumber = 0;
 
-    private static final Map<Encyclopedia, Integer> naturalDeaths = new ConcurrentHashMap<>();
-    private static final Map<Encyclopedia, Integer> eatenDeaths = new ConcurrentHashMap<>();
-    private static final Map<Encyclopedia, Integer> hungerDeaths = new ConcurrentHashMap<>();
-    private static final Map<Encyclopedia, Integer> accidentDeaths = new ConcurrentHashMap<>();
+    private static final int SPECIES_AMOUNT = Encyclopedia.values().length;
 
-    private static final Map<Encyclopedia, Integer> bredCount = new ConcurrentHashMap<>();
+    /**
+     * Счётчики смертей: первый индекс — {@link DeathCause#ordinal()}, второй — {@link Encyclopedia#ordinal()}.
+     * {@link LongAdder} распределяет одновременные увеличения из разных потоков по ячейкам,
+     * поэтому обновления не теряются и не создают объектов-обёрток.
+     */
+    private static final LongAdder[][] deaths = createCounters(DeathCause.values().length);
+
+    private static final LongAdder[] bredCount = createCounters(1)[0];
 
-    private static final Map<Encyclopedia, Integer> ateCount = new ConcurrentHashMap<>();
+    private static final LongAdder[] ateCount = createCounters(1)[0];
+
+    /**
+     * Текущая численность каждого вида: изменяется при добавлении особи в клетку и удалении из неё.
+     */
+    private static final LongAdder[] population = createCounters(1)[0];
 
-    private static final Map<Cell, Boolean> animalContainment = new ConcurrentHashMap<>();
-    private static final Map<Cell, Boolean> carnivoreContainment = new ConcurrentHashMap<>();
-    private static final Map<Cell, Boolean> herbivoreContainment = new ConcurrentHashMap<>();
-    private static final Map<Cell, Boolean> plantContainment = new ConcurrentHashMap<>();
+    @Getter
+    private static final StatisticsHistory history = new StatisticsHistory();
 
+    /**
+     * Численность категорий {@link LivingBeingType}, изменяемая вместе с численностью видов.
+     * По ней за O(1) проверяются условия завершения симуляции.
+     */
+    private static final LongAdder[] categoryPopulation = new LongAdder[LivingBeingType.values().length];
+
+    /**
+     * Категории, к которым относится каждый вид, по {@link Encyclopedia#ordinal()}.
+     */
+    private static final LivingBeingType[][] speciesCategories = new LivingBeingType[SPECIES_AMOUNT][];
+
+    static
+    {
+        for (LivingBeingType category : LivingBeingType.values())
+        {
+            categoryPopulation[category.ordinal()] = new LongAdder();
+        }
+        for (Encyclopedia species : Encyclopedia.values())
+        {
+            speciesCategories[species.ordinal()] = Arrays.stream(LivingBeingType.values())
+                    .filter(category -> category.getMembers().contains(species))
+                    .toArray(LivingBeingType[]::new);
+        }
+    }
 
     /**
      * Регистрирует смерть существа и причину.
@@ -50,84 +82,62 @@ public class Statistics
      */
     public static void registerDeath(Encyclopedia type, DeathCause deathCause)
     {
-        Map<Encyclopedia, Integer> deathMap = getDeathMap(deathCause);
-        register(type, deathMap);
+        deaths[deathCause.ordinal()][type.ordinal()].increment();
     }
 
     public static void registerBreeding(Encyclopedia type)
     {
-        register(type, bredCount);
+        bredCount[type.ordinal()].increment();
     }
 
     public static void registerConsumption(Encyclopedia type)
     {
-        register(type, ateCount);
+        ateCount[type.ordinal()].increment();
     }
+
     /**
-     * Проверяет, какие типы существ присутствуют в клетке,
-     * и обновляет глобальные карты присутствия.
+     * Изменяет текущую численность вида.
      *
-     * @param cell клетка острова
+     * @param type тип существа
+     * @param delta изменение численности (+1 при появлении в клетке, -1 при удалении)
      */
-    public static void confirmAvailability(Cell cell)
-    {
-        boolean containsAny;
-
-        for (LivingBeingType livingBeingType : LivingBeingType.values())
-        {
-            containsAny = cell.containsAny(livingBeingType);
-            addInContainment(cell, livingBeingType, containsAny);
-        }
-    }
-
-    private static void addInContainment(Cell cell, LivingBeingType type, Boolean containsAny)
+    public static void registerPopulationChange(Encyclopedia type, int delta)
     {
-        switch (type)
+        population[type.ordinal()].add(delta);
+        for (LivingBeingType category : speciesCategories[type.ordinal()])
         {
-            case ANIMAL -> animalContainment.put(cell, containsAny);
-            case CARNIVORE -> carnivoreContainment.put(cell, containsAny);
-            case HERBIVORE -> herbivoreContainment.put(cell, containsAny);
-            case PLANT -> plantContainment.put(cell, containsAny);
+            categoryPopulation[category.ordinal()].add(delta);
         }
     }
 
-    private static void register(Encyclopedia type, Map<Encyclopedia, Integer> statisticMap)
-    {
-        if (!statisticMap.containsKey(type))
-        {
-            statisticMap.put(type, 1);
-            return;
-        }
-        Integer count = statisticMap.get(type);
-        statisticMap.put(type, ++count);
-    }
     /**
      * Проверяет, выполнены ли условия завершения симуляции.
      *
+     * @param maxCycles лимит циклов симуляции
      * @return true — продолжить симуляцию, false — завершить
      */
-    protected static boolean checkConditions()
+    protected static boolean checkConditions(int maxCycles)
     {
-        if (!animalContainment.containsValue(true))
+        if (isExtinct(LivingBeingType.ANIMAL))
         {
             Drawer.drawEnd(EndReason.ALL_DEAD);
             return false;
         }
-        if (!carnivoreContainment.containsValue(true))
+        if (isExtinct(LivingBeingType.CARNIVORE))
         {
             Drawer.drawEnd(EndReason.ONLY_HERBIVORE_LEFT);
             return false;
         }
-        if (!herbivoreContainment.containsValue(true))
+        if (isExtinct(LivingBeingType.HERBIVORE))
         {
             Drawer.drawEnd(EndReason.ONLY_CARNIVORE_LEFT);
             return false;
         }
-        if (!plantContainment.containsValue(true))
+        if (isExtinct(LivingBeingType.PLANT))
         {
             Drawer.drawEnd(EndReason.NO_PLANTS_LEFT);
         }
-        if (currentCycleNumber >= GeneralConstants.MAX_CYCLES)
+        if (currentCycleNumber >= maxCycles)
         {
             Drawer.drawEnd(EndReason.TIMEOUT);
             return false;
@@ -136,55 +146,143 @@ public class Statistics
         return true;
     }
     /**
-     * Увеличивает счётчик симуляционных циклов.
+     * Записывает итоги завершившегося цикла в {@link StatisticsHistory} и увеличивает счётчик циклов.
      */
     protected static void nextCycle()
     {
+        history.record();
         currentCycleNumber++;
     }
 
-    public static int getBreedingCount()
+    public static long getBreedingCount()
     {
-        int counter = 0;
-        for (Map.Entry<Encyclopedia, Integer> entry : bredCount.entrySet())
-        {
-            counter += entry.getValue();
-        }
-        return counter;
+        return sum(bredCount);
     }
-    public static int getAteCount()
+
+    public static long getBreedingCount(Encyclopedia type)
     {
-        int counter = 0;
-        for (Map.Entry<Encyclopedia, Integer> entry : ateCount.entrySet())
+        return bredCount[type.ordinal()].sum();
+    }
+
+    public static long getAteCount()
+    {
+        return sum(ateCount);
+    }
+
+    public static long getAteCount(Encyclopedia type)
+    {
+        return ateCount[type.ordinal()].sum();
+    }
+
+    public static long getDeathCount(DeathCause cause)
+    {
+        return sum(deaths[cause.ordinal()]);
+    }
+
+    public static long getDeathCount(Encyclopedia type, DeathCause cause)
+    {
+        return deaths[cause.ordinal()][type.ordinal()].sum();
+    }
+
+    /**
+     * Восстанавливает накопленные счётчики вида из контрольной точки.
+     *
+     * @param type тип существа
+     * @param breedings количество размножений
+     * @param meals количество случаев питания
+     * @param deathCounts количество смертей по {@link DeathCause#ordinal()}
+     */
+    static void restoreCounters(Encyclopedia type, long breedings, long meals, long[] deathCounts)
+    {
+        int i = type.ordinal();
+        reset(bredCount[i], breedings);
+        reset(ateCount[i], meals);
+        for (DeathCause cause : DeathCause.values())
         {
-            counter += entry.getValue();
+            reset(deaths[cause.ordinal()][i], deathCounts[cause.ordinal()]);
         }
-        return counter;
     }
 
-    public static int getDeathCount(DeathCause cause)
+    /**
+     * Устанавливает текущую численность вида, например сумму численностей полос от {@link ShardCoordinator}.
+     *
+     * @param type тип существа
+     * @param amount численность
+     */
+    static void restorePopulation(Encyclopedia type, long amount)
     {
-        int counter = 0;
+        registerPopulationChange(type, Math.toIntExact(amount - getPopulation(type)));
+    }
 
-        Map<Encyclopedia, Integer> deathMap = getDeathMap(cause);
+    /**
+     * Восстанавливает номер цикла из контрольной точки. История начинает отсчёт приростов
+     * от восстановленных значений счётчиков.
+     *
+     * @param cycle номер цикла
+     */
+    static void restoreCycle(int cycle)
+    {
+        currentCycleNumber = cycle;
+        history.rebase();
+    }
 
-        for (Map.Entry<Encyclopedia, Integer> entry : deathMap.entrySet())
+    private static void reset(LongAdder counter, long value)
+    {
+        counter.reset();
+        counter.add(value);
+    }
+
+    /**
+     * @return true, если в текущем цикле существа размножаются
+     */
+    public static boolean isBreedingCycle()
+    {
+        return currentCycleNumber % GeneralConstants.BREEDING_PERIOD == 0;
+    }
+
+    /**
+     * @return численность всех видов
+     */
+    public static long getPopulation()
+    {
+        return sum(population);
+    }
+
+    public static long getPopulation(Encyclopedia type)
+    {
+        return population[type.ordinal()].sum();
+    }
+
+    public static long getPopulation(LivingBeingType category)
+    {
+        return categoryPopulation[category.ordinal()].sum();
+    }
+
+    private static boolean isExtinct(LivingBeingType category)
+    {
+        return categoryPopulation[category.ordinal()].sum() <= 0;
+    }
+
+    private static long sum(LongAdder[] counters)
+    {
+        long counter = 0;
+        for (LongAdder adder : counters)
         {
-            counter += entry.getValue();
+            counter += adder.sum();
         }
-
         return counter;
     }
 
-    private static Map<Encyclopedia, Integer> getDeathMap(DeathCause cause)
+    private static LongAdder[][] createCounters(int rows)
     {
-        return switch (cause)
+        LongAdder[][] counters = new LongAdder[rows][SPECIES_AMOUNT];
+        for (LongAdder[] row : counters)
         {
-            case NATURAL -> naturalDeaths;
-            case EATEN -> eatenDeaths;
-            case HUNGER -> hungerDeaths;
-            case ACCIDENT -> accidentDeaths;
-        };
+            for (int i = 0; i < SPECIES_AMOUNT; i++)
+            {
+                row[i] = new LongAdder();
+            }
+        }
+        return counters;
     }
-
 }
@@ -0,0 +1,211 @@
+package model.main;
+
+import model.properties.DeathCause;
+import model.properties.Encyclopedia;
+import model.properties.Registry;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Поцикловая история статистики симуляции.
+ * <p>
+ * Каждая метрика хранится в одном растущем примитивном массиве {@code int[]},
+ * где значение вида за цикл лежит по индексу {@code цикл * количество видов + ordinal вида}.
+ * Для численности записывается состояние на конец цикла, для рождений, питания и смертей —
+ * прирост за цикл (разность накопленных счётчиков {@link Statistics}).
+ * Запись одного цикла — несколько десятков чтений счётчиков без создания объектов,
+ * поэтому история включена всегда.
+ * <p>
+ * Запись выполняется только из основного потока между циклами.
+ */
+public final class StatisticsHistory
+{
+    private static final Encyclopedia[] SPECIES = Encyclopedia.values();
+    private static final DeathCause[] CAUSES = DeathCause.values();
+    private static final int INITIAL_CYCLES = 256;
+
+    private int cyclesAmount;
+
+    private int[] population = new int[INITIAL_CYCLES * SPECIES.length];
+    private int[] births = new int[INITIAL_CYCLES * SPECIES.length];
+    private int[] meals = new int[INITIAL_CYCLES * SPECIES.length];
+    private final int[][] deaths = new int[CAUSES.length][INITIAL_CYCLES * SPECIES.length];
+
+    /**
+     * Накопленные значения счётчиков на момент предыдущей записи — для вычисления прироста.
+     */
+    private final long[] lastBirths = new long[SPECIES.length];
+    private final long[] lastMeals = new long[SPECIES.length];
+    private final long[][] lastDeaths = new long[CAUSES.length][SPECIES.length];
+
+    StatisticsHistory()
+    {
+    }
+
+    /**
+     * Записывает значения всех метрик за завершившийся цикл.
+     */
+    void record()
+    {
+        ensureCapacity();
+        int offset = cyclesAmount * SPECIES.length;
+
+        for (Encyclopedia species : SPECIES)
+        {
+            int i = species.ordinal();
+            population[offset + i] = (int) Statistics.getPopulation(species);
+            births[offset + i] = delta(Statistics.getBreedingCount(species), lastBirths, i);
+            meals[offset + i] = delta(Statistics.getAteCount(species), lastMeals, i);
+            for (DeathCause cause : CAUSES)
+            {
+                deaths[cause.ordinal()][offset + i] =
+                        delta(Statistics.getDeathCount(species, cause), lastDeaths[cause.ordinal()], i);
+            }
+        }
+        cyclesAmount++;
+    }
+
+    /**
+     * Принимает текущие значения счётчиков за точку отсчёта приростов,
+     * например после восстановления счётчиков из контрольной точки.
+     */
+    void rebase()
+    {
+        for (Encyclopedia species : SPECIES)
+        {
+            int i = species.ordinal();
+            lastBirths[i] = Statistics.getBreedingCount(species);
+            lastMeals[i] = Statistics.getAteCount(species);
+            for (DeathCause cause : CAUSES)
+            {
+                lastDeaths[cause.ordinal()][i] = Statistics.getDeathCount(species, cause);
+            }
+        }
+    }
+
+    /**
+     * @return количество записанных циклов
+     */
+    public int getCyclesAmount()
+    {
+        return cyclesAmount;
+    }
+
+    public int getPopulation(Encyclopedia species, int cycle)
+    {
+        return population[index(species, cycle)];
+    }
+
+    public int getBirths(Encyclopedia species, int cycle)
+    {
+        return births[index(species, cycle)];
+    }
+
+    public int getMeals(Encyclopedia species, int cycle)
+    {
+        return meals[index(species, cycle)];
+    }
+
+    public int getDeaths(Encyclopedia species, DeathCause cause, int cycle)
+    {
+        return deaths[cause.ordinal()][index(species, cycle)];
+    }
+
+    /**
+     * @param species вид существа
+     * @return численность вида на конец каждого записанного цикла
+     */
+    public int[] getPopulationSeries(Encyclopedia species)
+    {
+        return series(population, species);
+    }
+
+    public int[] getBirthSeries(Encyclopedia species)
+    {
+        return series(births, species);
+    }
+
+    public int[] getMealSeries(Encyclopedia species)
+    {
+        return series(meals, species);
+    }
+
+    public int[] getDeathSeries(Encyclopedia species, DeathCause cause)
+    {
+        return series(deaths[cause.ordinal()], species);
+    }
+
+    /**
+     * Краткая сводка по видам: численность в начале и в конце, минимум и максимум за всю симуляцию.
+     *
+     * @return строки отчёта
+     */
+    public List<String> getReport()
+    {
+        List<String> lines = new ArrayList<>();
+        if (cyclesAmount == 0)
+        {
+            return lines;
+        }
+        for (Encyclopedia species : SPECIES)
+        {
+            int min = Integer.MAX_VALUE;
+            int max = 0;
+            for (int cycle = 0; cycle < cyclesAmount; cycle++)
+            {
+                int amount = population[cycle * SPECIES.length + species.ordinal()];
+                min = Math.min(min, amount);
+                max = Math.max(max, amount);
+            }
+            lines.add(String.format("%s %-12s начало: %7d, конец: %7d, мин: %7d, макс: %7d",
+                    Registry.getDisplay(species), species,
+                    getPopulation(species, 0), getPopulation(species, cyclesAmount - 1), min, max));
+        }
+        return lines;
+    }
+
+    private int index(Encyclopedia species, int cycle)
+    {
+        if (cycle < 0 || cycle >= cyclesAmount)
+        {
+            throw new IndexOutOfBoundsException("Цикл " + cycle + " не записан, всего циклов: " + cyclesAmount);
+        }
+        return cycle * SPECIES.length + species.ordinal();
+    }
+
+    private int[] series(int[] column, Encyclopedia species)
+    {
+        int[] values = new int[cyclesAmount];
+        for (int cycle = 0; cycle < cyclesAmount; cycle++)
+        {
+            values[cycle] = column[cycle * SPECIES.length + species.ordinal()];
+        }
+        return values;
+    }
+
+    private static int delta(long total, long[] last, int i)
+    {
+        int value = (int) (total - last[i]);
+        last[i] = total;
+        return value;
+    }
+
+    private void ensureCapacity()
+    {
+        int required = (cyclesAmount + 1) * SPECIES.length;
+        if (required <= population.length)
+        {
+            return;
+        }
+        int capacity = population.length * 2;
+        population = Arrays.copyOf(population, capacity);
+        births = Arrays.copyOf(births, capacity);
+        meals = Arrays.copyOf(meals, capacity);
+        for (int i = 0; i < deaths.length; i++)
+        {
+            deaths[i] = Arrays.copyOf(deaths[i], capacity);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package model.main;
+
+import lombok.Getter;
+
+/**
+ * Прямоугольный участок острова — единица планирования работы.
+ * На каждый этап цикла для участка создаётся одна задача, обрабатывающая все его клетки подряд.
+ */
+@Getter
+public class Tile
+{
+    private final int index;
+    private final int fromX;
+    private final int fromY;
+    private final int toX;
+    private final int toY;
+    /**
+     * Клетки участка в порядке обхода: по строкам, слева направо.
+     */
+    private final Cell[] cells;
+
+    /**
+     * @param island остров
+     * @param index  порядковый номер участка
+     * @param fromX  левая граница (включительно)
+     * @param fromY  верхняя граница (включительно)
+     * @param toX    правая граница (не включительно)
+     * @param toY    нижняя граница (не включительно)
+     */
+    Tile(Island island, int index, int fromX, int fromY, int toX, int toY)
+    {
+        this.index = index;
+        this.fromX = fromX;
+        this.fromY = fromY;
+        this.toX = toX;
+        this.toY = toY;
+        this.cells = new Cell[(toX - fromX) * (toY - fromY)];
+
+        int i = 0;
+        for (int y = fromY; y < toY; y++)
+        {
+            for (int x = fromX; x < toX; x++)
+            {
+                cells[i++] = island.getCell(x, y);
+            }
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Tile #" + index + " [" + fromX + ".." + (toX - 1) + "]x [" + fromY + ".." + (toY - 1) + "]y";
+    }
+}
@@ -0,0 +1,189 @@
+package model.main;
+
+import lombok.Getter;
+import model.main.tasks.Phase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Планировщик этапов симуляции по участкам острова на пуле потоков фиксированного размера.
+ * <p>
+ * Карта разбивается на прямоугольные участки {@link Tile}; на каждый этап цикла в пул потоков
+ * отправляется одна задача на участок, а не на клетку. Это снижает число отправок в очередь
+ * и отсчётов барьера с количества клеток до количества участков.
+ * Барьер этапа — {@link CountDownLatch} на количество задач: в отличие от {@link java.util.concurrent.Phaser}
+ * (не больше 65535 участников) он не ограничивает число участков при мелкой нарезке большого острова.
+ * Время выполнения каждого участка на каждом этапе накапливается для итогового отчёта.
+ */
+public class TileScheduler implements SimulationEngine
+{
+    /**
+     * Желаемое количество участков на один поток при автоматическом выборе размера участка.
+     * Несколько участков на поток сглаживают неравномерность заселения.
+     */
+    private static final int TILES_PER_THREAD = 8;
+
+    @Getter
+    private final List<Tile> tiles;
+    @Getter
+    private final int tileSize;
+
+    private final ThreadPoolExecutor executor;
+
+    private final EngineStatistics statistics;
+
+    /**
+     * @param island   остров, который нужно разбить на участки
+     * @param threads  количество потоков пула
+     * @param tileSize сторона участка в клетках; 0 — подобрать автоматически
+     */
+    public TileScheduler(Island island, int threads, int tileSize)
+    {
+        this.tileSize = tileSize > 0 ? tileSize : chooseTileSize(island.getCellsAmount(), threads);
+        this.tiles = Collections.unmodifiableList(createTiles(island, this.tileSize));
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>());
+        this.statistics = new EngineStatistics(tiles, threads);
+    }
+
+    /**
+     * Подбирает сторону участка так, чтобы на каждый поток приходилось около {@link #TILES_PER_THREAD} участков.
+     *
+     * @param cellsAmount количество клеток острова
+     * @param threads     количество потоков
+     * @return сторона участка (не меньше 1)
+     */
+    static int chooseTileSize(int cellsAmount, int threads)
+    {
+        double tileArea = (double) cellsAmount / ((long) threads * TILES_PER_THREAD);
+        return Math.max(1, (int) Math.round(Math.sqrt(tileArea)));
+    }
+
+    /**
+     * Разбивает строки острова, обрабатываемые этим процессом, на квадратные участки по строкам, слева направо.
+     *
+     * @param island   остров
+     * @param tileSize сторона участка в клетках
+     * @return участки острова
+     */
+    static List<Tile> createTiles(Island island, int tileSize)
+    {
+        List<Tile> tiles = new ArrayList<>();
+        for (int fromY = island.getFromY(); fromY < island.getToY(); fromY += tileSize)
+        {
+            for (int fromX = 0; fromX < island.getLength(); fromX += tileSize)
+            {
+                tiles.add(new Tile(island, tiles.size(), fromX, fromY,
+                        Math.min(fromX + tileSize, island.getLength()),
+                        Math.min(fromY + tileSize, island.getToY())));
+            }
+        }
+        return tiles;
+    }
+
+    @Override
+    public void runPhase(Phase phase, long phaseSeed)
+    {
+        statistics.beginPhase();
+        CountDownLatch finished = new CountDownLatch(tiles.size());
+        for (Tile tile : tiles)
+        {
+            Runnable task = phase.createTask(tile, phaseSeed);
+            executor.submit(() -> {
+                long start = System.nanoTime();
+                try
+                {
+                    task.run();
+                }
+                finally
+                {
+                    statistics.tileFinished(phase, tile, start);
+                    finished.countDown();
+                }
+            });
+        }
+        statistics.sampleQueueDepth(executor.getQueue().size());
+        await(finished);
+        statistics.endPhase(phase);
+    }
+
+    @Override
+    public void runAll(List<? extends Runnable> tasks)
+    {
+        CountDownLatch finished = new CountDownLatch(tasks.size());
+        for (Runnable task : tasks)
+        {
+            executor.submit(() -> {
+                try
+                {
+                    task.run();
+                }
+                finally
+                {
+                    finished.countDown();
+                }
+            });
+        }
+        await(finished);
+    }
+
+    /**
+     * Ждёт завершения всех задач этапа.
+     *
+     * @param finished счётчик незавершённых задач
+     */
+    private static void await(CountDownLatch finished)
+    {
+        try
+        {
+            finished.await();
+        }
+        catch (InterruptedException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public EngineStatistics getStatistics()
+    {
+        return statistics;
+    }
+
+    @Override
+    public List<String> getReport()
+    {
+        List<String> report = new ArrayList<>();
+        report.add("Движок: пул потоков, сторона участка " + tileSize);
+        report.addAll(statistics.getReport());
+        return report;
+    }
+
+    /**
+     * Завершает работу пула потоков.
+     * Пытается корректно завершить задачи в течение 3 секунд. Если не удаётся — форсирует завершение всех потоков.
+     */
+    @Override
+    public void shutdown()
+    {
+        executor.shutdown();
+
+        try
+        {
+            boolean isTerminated = executor.awaitTermination(3, TimeUnit.SECONDS);
+            if (!isTerminated)
+            {
+                executor.shutdownNow();
+            }
+        }
+        catch (InterruptedException e)
+        {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package model.main;
+
+import model.main.tasks.Phase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Движок симуляции на виртуальных потоках: каждая задача участка выполняется в собственном
+ * виртуальном потоке ({@link Executors#newVirtualThreadPerTaskExecutor()}).
+ * <p>
+ * Вместо счётчика завершения задач, как в {@link TileScheduler}, барьером служит структурная область этапа:
+ * на каждый этап создаётся свой исполнитель в try-with-resources, а его закрытие дожидается
+ * завершения всех задач этапа. Потоки не переживают этап, поэтому между этапами ничего не простаивает.
+ * <p>
+ * Виртуальные потоки дешёвы, поэтому участки можно делать мельче, вплоть до одной клетки ({@code --tile=1}).
+ * Количество потоков-носителей задаётся не настройкой {@code threads}, а свойством JVM
+ * {@code jdk.virtualThreadScheduler.parallelism} (по умолчанию — количество процессоров);
+ * {@code threads} влияет только на автоматический выбор размера участка.
+ */
+public class VirtualThreadEngine implements SimulationEngine
+{
+    private final List<Tile> tiles;
+    private final int tileSize;
+    private final EngineStatistics statistics;
+
+    /**
+     * @param island   остров
+     * @param threads  ожидаемое количество потоков-носителей для выбора размера участка
+     * @param tileSize сторона участка в клетках; 0 — подобрать автоматически
+     */
+    public VirtualThreadEngine(Island island, int threads, int tileSize)
+    {
+        this.tileSize = tileSize > 0 ? tileSize : TileScheduler.chooseTileSize(island.getCellsAmount(), threads);
+        this.tiles = Collections.unmodifiableList(TileScheduler.createTiles(island, this.tileSize));
+        this.statistics = new EngineStatistics(tiles);
+    }
+
+    @Override
+    public void runPhase(Phase phase, long phaseSeed)
+    {
+        statistics.beginPhase();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            for (Tile tile : tiles)
+            {
+                Runnable task = phase.createTask(tile, phaseSeed);
+                executor.execute(() -> {
+                    long start = System.nanoTime();
+                    try
+                    {
+                        task.run();
+                    }
+                    finally
+                    {
+                        statistics.tileFinished(phase, tile, start);
+                    }
+                });
+            }
+        }
+        statistics.endPhase(phase);
+    }
+
+    @Override
+    public void runAll(List<? extends Runnable> tasks)
+    {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor())
+        {
+            for (Runnable task : tasks)
+            {
+                executor.execute(task);
+            }
+        }
+    }
+
+    @Override
+    public EngineStatistics getStatistics()
+    {
+        return statistics;
+    }
+
+    @Override
+    public List<String> getReport()
+    {
+        List<String> report = new ArrayList<>();
+        report.add("Движок: виртуальные потоки, сторона участка " + tileSize);
+        report.addAll(statistics.getReport());
+        return report;
+    }
+
+    /**
+     * Потоки движка живут только в пределах этапа, поэтому останавливать нечего.
+     */
+    @Override
+    public void shutdown()
+    {
+    }
+}
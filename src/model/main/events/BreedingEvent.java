@@ -0,0 +1,30 @@
+package model.main.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие Java Flight Recorder на этап LIVE цикла размножения — самого тяжёлого этапа симуляции.
+ * Чтобы записывать только всплески, задайте порог длительности при запуске записи, например
+ * {@code -XX:StartFlightRecording:+island.Breeding#threshold=20ms}.
+ */
+@Name("island.Breeding")
+@Label("Этап размножения")
+@Category({"Island", "Симуляция"})
+@Description("Этап LIVE в цикле размножения: рост, питание и рождение потомства")
+@StackTrace(false)
+public final class BreedingEvent extends Event
+{
+    @Label("Номер цикла")
+    public int cycle;
+
+    @Label("Родилось животных")
+    public long births;
+
+    @Label("Численность после этапа")
+    public long population;
+}
@@ -0,0 +1,32 @@
+package model.main.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие Java Flight Recorder на весь цикл симуляции.
+ * Позволяет сопоставить профиль процессора и сборки мусора с номером цикла.
+ */
+@Name("island.Cycle")
+@Label("Цикл симуляции")
+@Category({"Island", "Симуляция"})
+@Description("Один цикл симуляции: этапы MOVE, SETTLE, LIVE, запись статистики и подготовка кадра")
+@StackTrace(false)
+public final class CycleEvent extends Event
+{
+    @Label("Номер цикла")
+    public int cycle;
+
+    @Label("Цикл размножения")
+    public boolean breeding;
+
+    @Label("Численность в конце цикла")
+    public long population;
+
+    @Label("Родилось животных")
+    public long births;
+}
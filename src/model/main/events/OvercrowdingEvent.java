@@ -0,0 +1,34 @@
+package model.main.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * Событие Java Flight Recorder об отказе клетки принять существо из-за перенаселённости.
+ * Существо при этом погибает ({@link model.properties.DeathCause#ACCIDENT}).
+ * <p>
+ * На плотно заселённом острове таких отказов сотни тысяч за запуск, поэтому событие по умолчанию выключено:
+ * включается параметром записи {@code +island.Overcrowding#enabled=true}.
+ */
+@Name("island.Overcrowding")
+@Label("Перенаселённость клетки")
+@Category({"Island", "Клетки"})
+@Description("Клетка отказала в добавлении существа: численность вида достигла предела")
+@StackTrace(false)
+@Enabled(false)
+public final class OvercrowdingEvent extends Event
+{
+    @Label("Вид")
+    public String species;
+
+    @Label("X")
+    public int x;
+
+    @Label("Y")
+    public int y;
+}
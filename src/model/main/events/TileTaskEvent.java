@@ -0,0 +1,55 @@
+package model.main.events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import model.main.Tile;
+import model.main.tasks.Phase;
+
+/**
+ * Событие Java Flight Recorder на обработку одного участка острова задачей этапа.
+ */
+@Name("island.TileTask")
+@Label("Задача участка")
+@Category({"Island", "Задачи"})
+@Description("Выполнение MoveTask, SettleTask или LiveTask на одном участке")
+@StackTrace(false)
+public final class TileTaskEvent extends Event
+{
+    @Label("Этап")
+    public String phase;
+
+    @Label("Участок")
+    public int tile;
+
+    @Label("Клеток")
+    public int cells;
+
+    @Label("Обработано")
+    @Description("MOVE — ушедшие из клеток участка, SETTLE — прибывшие, LIVE — новорождённые")
+    public int processed;
+
+    /**
+     * Завершает замер и записывает событие, если запись включена и длительность превысила порог.
+     * Поля заполняются только для записываемых событий.
+     *
+     * @param phase     этап
+     * @param tile      обработанный участок
+     * @param processed количество обработанных существ (см. {@link #processed})
+     */
+    public void finish(Phase phase, Tile tile, int processed)
+    {
+        end();
+        if (shouldCommit())
+        {
+            this.phase = phase.name();
+            this.tile = tile.getIndex();
+            this.cells = tile.getCells().length;
+            this.processed = processed;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package model.main.population;
+
+import model.Consumable;
+import model.Living;
+import model.properties.DeathCause;
+import model.properties.Encyclopedia;
+
+/**
+ * Лёгкое представление особи из {@link PopulationStore} в виде {@link Living}.
+ * Не хранит собственного состояния — все операции читают и изменяют колонки хранилища по слоту.
+ * Создаётся только по запросу и действительно до конца текущего этапа симуляции
+ * (после него слоты могут быть переупорядочены).
+ */
+public final class LifeFormView implements Living, Consumable
+{
+    private final PopulationStore store;
+    private final SpeciesColumn column;
+    private final int slot;
+
+    LifeFormView(PopulationStore store, SpeciesColumn column, int slot)
+    {
+        this.store = store;
+        this.column = column;
+        this.slot = slot;
+    }
+
+    public Encyclopedia getSpecies()
+    {
+        return column.species;
+    }
+
+    public double getAge()
+    {
+        return column.age[slot];
+    }
+
+    public double getSaturationLevel()
+    {
+        return column.saturation[slot];
+    }
+
+    public int getX()
+    {
+        return column.cell[slot] % store.getLength();
+    }
+
+    public int getY()
+    {
+        return column.cell[slot] / store.getLength();
+    }
+
+    public boolean isDead()
+    {
+        return column.dead.get(slot);
+    }
+
+    @Override
+    public boolean consume()
+    {
+        return store.consume(column, slot, store.getRandom());
+    }
+
+    @Override
+    public boolean reproduce(Living livingBeing)
+    {
+        return livingBeing instanceof LifeFormView partner &&
+                partner.store == store &&
+                partner.column == column &&
+                store.reproduce(column, slot, partner.slot);
+    }
+
+    @Override
+    public void die(DeathCause cause)
+    {
+        store.die(column, slot, cause);
+    }
+
+    @Override
+    public boolean increaseSaturationLevel(Consumable food)
+    {
+        column.saturation[slot] += food.beConsumed();
+        return true;
+    }
+
+    @Override
+    public void grow()
+    {
+        store.grow(column, slot);
+    }
+
+    @Override
+    public double beConsumed()
+    {
+        return store.beConsumed(column, slot);
+    }
+}
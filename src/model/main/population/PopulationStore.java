@@ -0,0 +1,528 @@
+package model.main.population;
+
+import lombok.Getter;
+import model.Sun;
+import model.main.Statistics;
+import model.properties.DeathCause;
+import model.properties.Encyclopedia;
+import model.properties.LivingBeingType;
+import model.properties.Registry;
+import util.GeneralConstants;
+import util.SplitMixRandom;
+
+import java.util.Arrays;
+import java.util.random.RandomGenerator;
+
+/**
+ * Альтернативный (колоночный) движок популяции острова.
+ * <p>
+ * Вместо отдельного объекта {@link model.LifeForm} на каждое существо хранит состояние всех особей вида
+ * в примитивных параллельных массивах ({@link SpeciesColumn}) и ведёт счётчики особей по клеткам.
+ * Повторяет правила обычной симуляции: передвижение, рост, питание и размножение.
+ * Объекты {@link model.Living} создаются только по запросу — через {@link #view(Encyclopedia, int)}.
+ * <p>
+ * Класс не потокобезопасен: шаги симуляции выполняются последовательно по непрерывной памяти.
+ */
+public class PopulationStore
+{
+    private static final Encyclopedia[] SPECIES = Encyclopedia.values();
+    private static final LivingBeingType[] CATEGORIES = LivingBeingType.values();
+
+    @Getter
+    private final int length;
+    @Getter
+    private final int height;
+    private final int cellsAmount;
+
+    private final SpeciesColumn[] columns = new SpeciesColumn[SPECIES.length];
+    private final int[][] cellCounts = new int[SPECIES.length][];
+    private final boolean[][] categoryMembers = new boolean[CATEGORIES.length][SPECIES.length];
+
+    private final double[] weight = new double[SPECIES.length];
+    private final double[] maxSaturation = new double[SPECIES.length];
+    private final double[] maxAge = new double[SPECIES.length];
+    private final int[] maxSpeed = new int[SPECIES.length];
+    private final int[] maxCellAmount = new int[SPECIES.length];
+    private final int[][] diet = new int[SPECIES.length][];
+    private final int[][] eatingChances = new int[SPECIES.length][SPECIES.length];
+
+    private final int[] neighbours = new int[8];
+    private int[] candidates = new int[64];
+
+    /**
+     * Единственный поток случайных чисел хранилища: шаги выполняются последовательно,
+     * поэтому при одинаковом зерне результат симуляции повторяется.
+     */
+    @Getter
+    private final SplitMixRandom random;
+
+    /**
+     * Создаёт пустое хранилище для острова заданного размера.
+     * Параметры видов считываются из {@link Registry} в примитивные массивы ({@link #reloadProperties()}).
+     *
+     * @param length ширина острова
+     * @param height высота острова
+     * @param seed   зерно потока случайных чисел
+     */
+    public PopulationStore(int length, int height, long seed)
+    {
+        this.random = new SplitMixRandom(seed);
+        this.length = length;
+        this.height = height;
+        this.cellsAmount = length * height;
+
+        for (Encyclopedia species : SPECIES)
+        {
+            int i = species.ordinal();
+            columns[i] = new SpeciesColumn(species);
+            cellCounts[i] = new int[cellsAmount];
+            for (LivingBeingType category : CATEGORIES)
+            {
+                categoryMembers[category.ordinal()][i] = category.getMembers().contains(species);
+            }
+        }
+        reloadProperties();
+    }
+
+    /**
+     * Заново копирует параметры видов из {@link Registry}.
+     * Вызывается после публикации новой версии параметров между циклами.
+     */
+    public void reloadProperties()
+    {
+        for (Encyclopedia species : SPECIES)
+        {
+            int i = species.ordinal();
+            weight[i] = Registry.getWeight(species);
+            maxSaturation[i] = Registry.getMaxSaturationLevel(species);
+            maxAge[i] = Registry.getMaxAge(species);
+            maxSpeed[i] = Registry.getMaxSpeed(species);
+            maxCellAmount[i] = Registry.getMaxCellAmount(species);
+        }
+
+        for (Encyclopedia predator : SPECIES)
+        {
+            int[] preys = new int[SPECIES.length];
+            int preysAmount = 0;
+            Arrays.fill(eatingChances[predator.ordinal()], 0);
+            if (columns[predator.ordinal()].mobile)
+            {
+                long edibleMask = Registry.getEdibleMask(predator);
+                for (Encyclopedia prey : SPECIES)
+                {
+                    if ((edibleMask & 1L << prey.ordinal()) != 0)
+                    {
+                        // как в LifeForm#getCurrentEatingChances: растения съедаются всегда
+                        eatingChances[predator.ordinal()][prey.ordinal()] =
+                                columns[prey.ordinal()].mobile ? Registry.getEatingChances(predator, prey) : 100;
+                        preys[preysAmount++] = prey.ordinal();
+                    }
+                }
+            }
+            diet[predator.ordinal()] = Arrays.copyOf(preys, preysAmount);
+        }
+    }
+
+    /**
+     * Добавляет особь в клетку. При превышении лимита вида в клетке особь погибает ({@link DeathCause#ACCIDENT}).
+     *
+     * @return слот добавленной особи или -1, если она не поместилась
+     */
+    public int add(Encyclopedia species, int x, int y, double age, double saturationLevel)
+    {
+        return add(species.ordinal(), y * length + x, age, saturationLevel);
+    }
+
+    private int add(int species, int cellIndex, double age, double saturationLevel)
+    {
+        if (cellCounts[species][cellIndex] > maxCellAmount[species])
+        {
+            registerDeath(species, DeathCause.ACCIDENT);
+            return -1;
+        }
+        cellCounts[species][cellIndex]++;
+        Statistics.registerPopulationChange(SPECIES[species], 1);
+        return columns[species].add(cellIndex, age, saturationLevel);
+    }
+
+    /**
+     * Этап передвижения: каждое подвижное существо делает случайное количество шагов по соседним клеткам.
+     */
+    public void move()
+    {
+        for (SpeciesColumn column : columns)
+        {
+            if (!column.mobile)
+            {
+                continue;
+            }
+            int species = column.species.ordinal();
+            int size = column.size;
+            for (int slot = 0; slot < size; slot++)
+            {
+                if (column.dead.get(slot))
+                {
+                    continue;
+                }
+                int from = column.cell[slot];
+                int to = getNewCell(from, maxSpeed[species], random);
+                cellCounts[species][from]--;
+                if (cellCounts[species][to] > maxCellAmount[species])
+                {
+                    column.dead.set(slot);
+                    Statistics.registerPopulationChange(column.species, -1);
+                    registerDeath(species, DeathCause.ACCIDENT);
+                    continue;
+                }
+                cellCounts[species][to]++;
+                column.cell[slot] = to;
+                decreaseSaturationLevel(column, slot);
+            }
+        }
+    }
+
+    /**
+     * Этап жизни: рост и питание всех существ, а в циклы размножения — разбиение на пары.
+     * В конце этапа мёртвые удаляются, а новорождённые добавляются в колонки.
+     *
+     * @param breedingCycle является ли текущий цикл циклом размножения
+     */
+    public void live(boolean breedingCycle)
+    {
+        for (SpeciesColumn column : columns)
+        {
+            column.compact();
+            column.groupByCell(cellsAmount);
+        }
+
+        for (SpeciesColumn column : columns)
+        {
+            int size = column.size;
+            for (int slot = 0; slot < size; slot++)
+            {
+                grow(column, slot);
+                consume(column, slot, random);
+            }
+        }
+
+        if (breedingCycle)
+        {
+            for (SpeciesColumn column : columns)
+            {
+                breed(column);
+            }
+        }
+
+        for (SpeciesColumn column : columns)
+        {
+            column.compact();
+        }
+    }
+
+    /**
+     * Возвращает представление особи в виде {@link model.Living}.
+     * Представление действительно до конца текущего этапа симуляции.
+     *
+     * @param species вид
+     * @param slot    слот особи в колонке вида
+     * @return представление особи
+     */
+    public LifeFormView view(Encyclopedia species, int slot)
+    {
+        SpeciesColumn column = columns[species.ordinal()];
+        if (slot < 0 || slot >= column.size)
+        {
+            throw new IndexOutOfBoundsException("Нет особи " + species + " в слоте " + slot);
+        }
+        return new LifeFormView(this, column, slot);
+    }
+
+    /**
+     * @return общее количество живых особей вида на острове
+     */
+    public int getAmount(Encyclopedia species)
+    {
+        SpeciesColumn column = columns[species.ordinal()];
+        return column.size - column.dead.cardinality();
+    }
+
+    public int getAmount(Encyclopedia species, int x, int y)
+    {
+        return cellCounts[species.ordinal()][y * length + x];
+    }
+
+    /**
+     * Проверяет, есть ли в клетке хотя бы один представитель категории.
+     */
+    public boolean containsAny(int x, int y, LivingBeingType livingBeingType)
+    {
+        return getMostNumerous(x, y, livingBeingType) != null;
+    }
+
+    /**
+     * Возвращает самый многочисленный вид категории в клетке.
+     *
+     * @return вид или {@code null}, если в клетке нет представителей категории
+     */
+    public Encyclopedia getMostNumerous(int x, int y, LivingBeingType livingBeingType)
+    {
+        int cellIndex = y * length + x;
+        boolean[] members = categoryMembers[livingBeingType.ordinal()];
+        int maxAmount = 0;
+        Encyclopedia result = null;
+        for (int i = 0; i < SPECIES.length; i++)
+        {
+            if (members[i] && cellCounts[i][cellIndex] > maxAmount)
+            {
+                maxAmount = cellCounts[i][cellIndex];
+                result = SPECIES[i];
+            }
+        }
+        return result;
+    }
+
+    //============================= Операции над одной особью =============================
+
+    void grow(SpeciesColumn column, int slot)
+    {
+        if (column.dead.get(slot))
+        {
+            return;
+        }
+        int species = column.species.ordinal();
+
+        column.bred.clear(slot);
+        column.consumed.clear(slot);
+        decreaseSaturationLevel(column, slot);
+        column.age[slot] += GeneralConstants.CYCLE_TIME * 0.01;
+
+        if (column.age[slot] >= maxAge[species])
+        {
+            die(column, slot, DeathCause.NATURAL);
+            return;
+        }
+        if (column.saturation[slot] <= 0)
+        {
+            die(column, slot, DeathCause.HUNGER);
+        }
+    }
+
+    boolean consume(SpeciesColumn column, int slot, RandomGenerator random)
+    {
+        int species = column.species.ordinal();
+        if (column.dead.get(slot) || column.saturation[slot] >= maxSaturation[species])
+        {
+            return false;
+        }
+        if (!column.mobile)
+        {
+            column.saturation[slot] += Sun.getInstance().beConsumed();
+            return true;
+        }
+
+        int cellIndex = column.cell[slot];
+        int[] preys = diet[species];
+        int total = 0;
+        for (int prey : preys)
+        {
+            total += cellCounts[prey][cellIndex];
+        }
+        if (total == 0)
+        {
+            return false;
+        }
+
+        int pick = random.nextInt(total);
+        int prey = preys[0];
+        for (int candidate : preys)
+        {
+            pick -= cellCounts[candidate][cellIndex];
+            if (pick < 0)
+            {
+                prey = candidate;
+                break;
+            }
+        }
+
+        SpeciesColumn preyColumn = columns[prey];
+        int preySlot = findAlive(preyColumn, cellIndex, random);
+        if (preySlot < 0 || random.nextInt(100) >= eatingChances[species][prey])
+        {
+            return false;
+        }
+
+        column.saturation[slot] += beConsumed(preyColumn, preySlot);
+        column.consumed.set(slot);
+        Statistics.registerConsumption(column.species);
+        return true;
+    }
+
+    double beConsumed(SpeciesColumn column, int slot)
+    {
+        if (column.dead.get(slot))
+        {
+            return 0.0;
+        }
+        die(column, slot, DeathCause.EATEN);
+        return weight[column.species.ordinal()];
+    }
+
+    void die(SpeciesColumn column, int slot, DeathCause cause)
+    {
+        if (column.dead.get(slot))
+        {
+            return;
+        }
+        int species = column.species.ordinal();
+        column.dead.set(slot);
+        column.bred.set(slot);
+        column.consumed.set(slot);
+        cellCounts[species][column.cell[slot]]--;
+        Statistics.registerPopulationChange(column.species, -1);
+        registerDeath(species, cause);
+    }
+
+    /**
+     * Размножение пары особей одного вида из одной клетки. Потомок добавляется в конец колонки.
+     *
+     * @return true, если размножение произошло
+     */
+    boolean reproduce(SpeciesColumn column, int slot, int partnerSlot)
+    {
+        if (slot == partnerSlot || column.cell[slot] != column.cell[partnerSlot] ||
+                column.dead.get(slot) || column.dead.get(partnerSlot) ||
+                column.bred.get(slot) || column.bred.get(partnerSlot))
+        {
+            return false;
+        }
+        int species = column.species.ordinal();
+        column.bred.set(slot);
+        column.bred.set(partnerSlot);
+
+        int newborn = add(species, column.cell[slot], 0.0, maxSaturation[species]);
+        if (newborn >= 0)
+        {
+            column.bred.set(newborn);
+        }
+        decreaseSaturationLevel(column, slot);
+        if (column.mobile)
+        {
+            Statistics.registerBreeding(column.species);
+        }
+        return true;
+    }
+
+    void decreaseSaturationLevel(SpeciesColumn column, int slot)
+    {
+        column.saturation[slot] -= maxSaturation[column.species.ordinal()] * 0.02;
+        if (column.saturation[slot] < 0)
+        {
+            column.saturation[slot] = 0;
+            die(column, slot, DeathCause.HUNGER);
+        }
+    }
+
+    //============================= Вспомогательные методы =============================
+
+    /**
+     * Попарно сводит свободных особей внутри каждой клетки, как {@code PairingStage} обычной симуляции:
+     * готовые к размножению перемешиваются, а соседи по списку образуют пары.
+     * Колонка должна быть сгруппирована по клеткам.
+     */
+    private void breed(SpeciesColumn column)
+    {
+        int[] cellStart = column.cellStart;
+        for (int c = 0; c < cellsAmount; c++)
+        {
+            int amount = 0;
+            for (int slot = cellStart[c]; slot < cellStart[c + 1]; slot++)
+            {
+                if (column.dead.get(slot) || column.bred.get(slot))
+                {
+                    continue;
+                }
+                if (amount == candidates.length)
+                {
+                    candidates = Arrays.copyOf(candidates, amount * 2);
+                }
+                candidates[amount++] = slot;
+            }
+            if (amount < 2)
+            {
+                continue;
+            }
+
+            for (int i = amount - 1; i > 0; i--)
+            {
+                int j = random.nextInt(i + 1);
+                int slot = candidates[i];
+                candidates[i] = candidates[j];
+                candidates[j] = slot;
+            }
+            for (int i = 0; i + 1 < amount; i += 2)
+            {
+                reproduce(column, candidates[i], candidates[i + 1]);
+            }
+        }
+    }
+
+    private int findAlive(SpeciesColumn column, int cellIndex, RandomGenerator random)
+    {
+        int start = column.cellStart[cellIndex];
+        int amount = column.cellStart[cellIndex + 1] - start;
+        if (amount == 0)
+        {
+            return -1;
+        }
+        int offset = random.nextInt(amount);
+        for (int i = 0; i < amount; i++)
+        {
+            int slot = start + (offset + i) % amount;
+            if (!column.dead.get(slot))
+            {
+                return slot;
+            }
+        }
+        return -1;
+    }
+
+    private int getNewCell(int cellIndex, int speed, RandomGenerator random)
+    {
+        int stepsAmount = random.nextInt(speed + 1);
+        int current = cellIndex;
+        for (int i = 0; i < stepsAmount; i++)
+        {
+            int neighboursAmount = findNeighbours(current);
+            current = neighbours[random.nextInt(neighboursAmount)];
+        }
+        return current;
+    }
+
+    private int findNeighbours(int cellIndex)
+    {
+        int x = cellIndex % length;
+        int y = cellIndex / length;
+        int amount = 0;
+        for (int dy = -1; dy <= 1; dy++)
+        {
+            for (int dx = -1; dx <= 1; dx++)
+            {
+                int newX = x + dx;
+                int newY = y + dy;
+                if ((dx != 0 || dy != 0) && newX >= 0 && newX < length && newY >= 0 && newY < height)
+                {
+                    neighbours[amount++] = newY * length + newX;
+                }
+            }
+        }
+        return amount;
+    }
+
+    private void registerDeath(int species, DeathCause cause)
+    {
+        if (columns[species].mobile)
+        {
+            Statistics.registerDeath(SPECIES[species], cause);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package model.main.population;
+
+import model.animals.Animal;
+import model.properties.Encyclopedia;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Колоночное хранилище всех особей одного вида.
+ * Возраст, насыщение и номер клетки лежат в параллельных примитивных массивах,
+ * флаги (смерть, размножение, питание) — в {@link BitSet}.
+ * Особь — это просто индекс (слот) в этих массивах.
+ */
+final class SpeciesColumn
+{
+    private static final int INITIAL_CAPACITY = 64;
+
+    final Encyclopedia species;
+    final boolean mobile;
+
+    int size;
+    double[] age = new double[INITIAL_CAPACITY];
+    double[] saturation = new double[INITIAL_CAPACITY];
+    int[] cell = new int[INITIAL_CAPACITY];
+
+    BitSet dead = new BitSet();
+    BitSet bred = new BitSet();
+    BitSet consumed = new BitSet();
+
+    /**
+     * Начало диапазона слотов каждой клетки после {@link #groupByCell(int)}:
+     * особи клетки {@code c} занимают слоты {@code [cellStart[c], cellStart[c + 1])}.
+     */
+    int[] cellStart;
+
+    private double[] ageBuffer = new double[INITIAL_CAPACITY];
+    private double[] saturationBuffer = new double[INITIAL_CAPACITY];
+    private int[] cellBuffer = new int[INITIAL_CAPACITY];
+
+    SpeciesColumn(Encyclopedia species)
+    {
+        this.species = species;
+        this.mobile = Animal.class.isAssignableFrom(species.getType());
+    }
+
+    /**
+     * Добавляет особь в конец колонки.
+     *
+     * @return слот новой особи
+     */
+    int add(int cellIndex, double age, double saturation)
+    {
+        if (size == cell.length)
+        {
+            int capacity = size * 2;
+            this.age = Arrays.copyOf(this.age, capacity);
+            this.saturation = Arrays.copyOf(this.saturation, capacity);
+            this.cell = Arrays.copyOf(this.cell, capacity);
+        }
+        int slot = size++;
+        this.age[slot] = age;
+        this.saturation[slot] = saturation;
+        this.cell[slot] = cellIndex;
+        dead.clear(slot);
+        bred.clear(slot);
+        consumed.clear(slot);
+        return slot;
+    }
+
+    /**
+     * Удаляет мёртвых особей, сохраняя порядок живых.
+     */
+    void compact()
+    {
+        int write = 0;
+        for (int read = 0; read < size; read++)
+        {
+            if (dead.get(read))
+            {
+                continue;
+            }
+            if (write != read)
+            {
+                age[write] = age[read];
+                saturation[write] = saturation[read];
+                cell[write] = cell[read];
+                bred.set(write, bred.get(read));
+                consumed.set(write, consumed.get(read));
+            }
+            write++;
+        }
+        dead.clear();
+        bred.clear(write, size);
+        consumed.clear(write, size);
+        size = write;
+    }
+
+    /**
+     * Стабильно сортирует особей по номеру клетки (сортировка подсчётом)
+     * и заполняет {@link #cellStart}. Вызывается после {@link #compact()}.
+     *
+     * @param cellsAmount количество клеток острова
+     */
+    void groupByCell(int cellsAmount)
+    {
+        if (cellStart == null || cellStart.length != cellsAmount + 1)
+        {
+            cellStart = new int[cellsAmount + 1];
+        }
+        else
+        {
+            Arrays.fill(cellStart, 0);
+        }
+        if (ageBuffer.length < size)
+        {
+            ageBuffer = new double[age.length];
+            saturationBuffer = new double[saturation.length];
+            cellBuffer = new int[cell.length];
+        }
+
+        for (int i = 0; i < size; i++)
+        {
+            cellStart[cell[i] + 1]++;
+        }
+        for (int c = 0; c < cellsAmount; c++)
+        {
+            cellStart[c + 1] += cellStart[c];
+        }
+
+        int[] position = Arrays.copyOf(cellStart, cellsAmount);
+        BitSet newBred = new BitSet(size);
+        BitSet newConsumed = new BitSet(size);
+        for (int i = 0; i < size; i++)
+        {
+            int target = position[cell[i]]++;
+            ageBuffer[target] = age[i];
+            saturationBuffer[target] = saturation[i];
+            cellBuffer[target] = cell[i];
+            newBred.set(target, bred.get(i));
+            newConsumed.set(target, consumed.get(i));
+        }
+
+        double[] swap = age;
+        age = ageBuffer;
+        ageBuffer = swap;
+        swap = saturation;
+        saturation = saturationBuffer;
+        saturationBuffer = swap;
+        int[] cellSwap = cell;
+        cell = cellBuffer;
+        cellBuffer = cellSwap;
+        bred = newBred;
+        consumed = newConsumed;
+    }
+}
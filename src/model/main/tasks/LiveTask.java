@@ -1,55 +1,68 @@
 package model.main.tasks;
 
-import lombok.AllArgsConstructor;
 import model.Living;
 import model.main.Cell;
 import model.main.Statistics;
+import model.main.Tile;
+import model.main.events.TileTaskEvent;
 import model.properties.Encyclopedia;
 
 import java.util.List;
-import java.util.concurrent.Phaser;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
  * Задача, выполняемая в рамках симуляции одного цикла.
- * Отвечает за выполнение жизненного цикла всех существ в клетке:
+ * Отвечает за выполнение жизненного цикла всех существ в клетках одного участка:
  * - рост;
  * - потребление пищи;
- * - размножение (каждый 5-й цикл);
- * - регистрация статистики по клетке.
+ * - размножение (каждый 5-й цикл), новорождённые добавляются в клетку после обхода.
  */
-@AllArgsConstructor
 public class LiveTask implements Runnable
 {
-    private Cell cell;
-    private Phaser phaser;
-    private final ThreadLocalRandom random = ThreadLocalRandom.current();
+    private final Tile tile;
+    private final long phaseSeed;
+    private final PairingStage pairingStage = new PairingStage();
+
+    /**
+     * @param tile      обрабатываемый участок
+     * @param phaseSeed зерно этапа для потоков случайных чисел клеток
+     */
+    public LiveTask(Tile tile, long phaseSeed)
+    {
+        this.tile = tile;
+        this.phaseSeed = phaseSeed;
+    }
 
 
     /**
      * Основной метод выполнения задачи.
-     * Для каждого типа живых существ в клетке:
+     * Для каждой клетки участка и каждого типа живых существ в ней:
      * - получает список всех представителей этого типа;
-     * - вызывает метод {@link #live(List)} для обработки жизненного цикла;
-     * - обновляет статистику через {@link Statistics#confirmAvailability(Cell)}.
-     * После выполнения — сигнализирует синхронизатору {@link Phaser}, что работа завершена.
+     * - вызывает метод {@link #live(Cell, List)} для обработки жизненного цикла.
+     * Ошибка в одной клетке не прерывает обработку остальных клеток участка.
      */
     @Override
-    public void run() {
-        try {
-            for (Encyclopedia livingBeingType : cell.getAllLivingBeingTypes()) {
-                List<Living> livingBeings = cell.getLivingBeings(livingBeingType);
-                live(livingBeings);
+    public void run()
+    {
+        TileTaskEvent event = new TileTaskEvent();
+        event.begin();
+        int born = 0;
+        for (Cell cell : tile.getCells())
+        {
+            try {
+                cell.resetRandom(phaseSeed);
+                for (Encyclopedia livingBeingType : cell.getAllLivingBeingTypes()) {
+                    List<Living> livingBeings = cell.getLivingBeings(livingBeingType);
+                    live(cell, livingBeings);
+                }
+                born += pairingStage.release(cell);
+            } catch (Throwable t) {
+                // на всякий случай залогировать, чтобы видеть, что пошло не так
+                System.err.println("Exception in LiveTask for cell " + cell + ": " + t);
+                t.printStackTrace();
+                pairingStage.discard();
             }
-            Statistics.confirmAvailability(cell);
-        } catch (Throwable t) {
-            // на всякий случай залогировать, чтобы видеть, что пошло не так
-            System.err.println("Exception in LiveTask for cell " + cell + ": " + t);
-            t.printStackTrace();
-            t.getCause();
-        } finally {
-            phaser.arriveAndDeregister();
         }
+        event.finish(Phase.LIVE, tile, born);
     }
 
     /**
@@ -57,46 +70,21 @@ public class LiveTask implements Runnable
      * Выполняются:
      * - рост (метод {@code grow()});
      * - потребление пищи (метод {@code consume()});
-     * - размножение, если цикл кратен 5 (через {@link #breed(List, Living)}).
+     * - размножение в цикл размножения (через {@link PairingStage}) — уже после роста и питания всего вида.
      *
+     * @param cell клетка, в которой живут существа
      * @param livingBeings список живых существ одного типа в клетке
      */
-    private void live(List<Living> livingBeings)
+    private void live(Cell cell, List<Living> livingBeings)
     {
         for (Living livingBeing : livingBeings)
         {
             livingBeing.grow();
             livingBeing.consume();
-            if (Statistics.getCurrentCycleNumber() % 5 == 0)
-            {
-                breed(livingBeings, livingBeing);
-            }
-        }
-    }
-    /**
-     * Пытается найти подходящего партнёра для размножения среди оставшихся в списке.
-     * Если подходящий партнёр найден, вызывается метод {@code reproduce()} у текущего существа.
-     *
-     * @param livingBeings список всех существ одного типа в клетке
-     * @param livingBeing текущее существо, ищущее партнёра
-     */
-    private void breed(List<Living> livingBeings, Living livingBeing)
-    {
-        int number = livingBeings.indexOf(livingBeing);
-
-        if (number == livingBeings.size() - 1)
-        {
-            return;
         }
-        Living couple;
-
-        for (int i = number; i < livingBeings.size(); i++)
+        if (Statistics.isBreedingCycle())
         {
-            couple = livingBeings.get(i);
-            if (livingBeing.reproduce(couple))
-            {
-                return;
-            }
+            pairingStage.pair(livingBeings, cell.getRandom());
         }
     }
 
@@ -3,65 +3,87 @@ package model.main.tasks;
 import lombok.AllArgsConstructor;
 import model.Living;
 import model.Mobile;
-import model.animals.Animal;
 import model.main.Cell;
+import model.main.Tile;
+import model.main.events.TileTaskEvent;
 import model.properties.Encyclopedia;
-import util.GeneralConstants;
 
 import java.util.List;
-import java.util.concurrent.Phaser;
-import java.util.concurrent.ThreadLocalRandom;
 
 /**
- * Задача перемещения всех подвижных существ в одной клетке.
- * Используется на этапе "движения" в одном симуляционном цикле.
+ * Задача выбора перемещений всех подвижных существ в клетках одного участка — первый этап передвижения.
+ * <p>
+ * Каждое существо выбирает клетку назначения; уходящие удаляются из своей клетки и записываются
+ * в очередь прибытий клетки назначения. Задача изменяет только клетки своего участка, а в чужие клетки
+ * пишет без блокировок, поэтому не ждёт другие потоки. Прибытия фиксируются на этапе {@link SettleTask}.
  */
 @AllArgsConstructor
 public class MoveTask implements Runnable
 {
-    private final Cell cell;
-    private final ThreadLocalRandom random = ThreadLocalRandom.current();
-    private final Phaser phaser;
+    private final Tile tile;
+    private final long phaseSeed;
 
     /**
      * Основной метод перемещения.
-     * Для каждого типа живых существ в клетке:
+     * Для каждой клетки участка и каждого типа живых существ в ней:
      * - получает всех представителей;
-     * - вызывает метод {@link #move(List)} для перемещения всех подвижных особей.
-     * После завершения работы — сообщает об этом {@link Phaser}.
+     * - вызывает метод {@link #move(Cell, List, int)} для выбора перемещений подвижных особей.
+     * Ошибка в одной клетке не прерывает обработку остальных клеток участка.
      */
     @Override
-    public void run() {
-        try {
-            for (Encyclopedia livingBeingType : cell.getAllLivingBeingTypes()) {
-                List<Living> livingBeings = cell.getLivingBeings(livingBeingType);
-                move(livingBeings);
+    public void run()
+    {
+        TileTaskEvent event = new TileTaskEvent();
+        event.begin();
+        int departed = 0;
+        for (Cell cell : tile.getCells())
+        {
+            try {
+                cell.resetRandom(phaseSeed);
+                int departures = 0;
+                for (Encyclopedia livingBeingType : cell.getAllLivingBeingTypes()) {
+                    List<Living> livingBeings = cell.getLivingBeings(livingBeingType);
+                    departures = move(cell, livingBeings, departures);
+                }
+                departed += departures;
+            } catch (Throwable t) {
+                System.err.println("Exception in MoveTask for cell " + cell + ":");
+                t.printStackTrace();
             }
-        } catch (Throwable t) {
-            System.err.println("Exception in MoveTask for cell " + cell + ":");
-            t.printStackTrace();
-            t.getCause();
-        } finally {
-            phaser.arriveAndDeregister();
-           // System.out.println("End of MoveTask for " + cell + ", unarrived: " + phaser.getUnarrivedParties());
         }
+        event.finish(Phase.MOVE, tile, departed);
     }
 
     /**
-     * Перебирает всех существ в списке и перемещает только тех,
+     * Перебирает всех существ в списке и выбирает клетку назначения для тех,
      * которые реализуют интерфейс {@code Mobile}.
-     * Метод {@code move()} вызывается у каждого подвижного существа.
      *
+     * @param cell         клетка, из которой уходят существа
      * @param livingBeings список живых существ одного типа
+     * @param departures   количество уже ушедших из клетки в этом цикле
+     * @return обновлённое количество ушедших
      */
-    private void move(List<Living> livingBeings)
+    private int move(Cell cell, List<Living> livingBeings, int departures)
     {
         for (Living livingBeing : livingBeings)
         {
-            if (livingBeing instanceof Mobile mobile)
+            if (!(livingBeing instanceof Mobile mobile))
+            {
+                continue;
+            }
+            Cell destination = mobile.chooseDestination();
+            if (destination == null)
+            {
+                continue;
+            }
+            if (destination == cell)
             {
-               mobile.move();
+                mobile.stay();
+                continue;
             }
+            cell.removeLivingBeing(livingBeing);
+            destination.enqueueArrival(mobile, cell, departures++);
         }
+        return departures;
     }
 }
@@ -0,0 +1,85 @@
+package model.main.tasks;
+
+import model.LifeForm;
+import model.Living;
+import model.main.Cell;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.random.RandomGenerator;
+
+/**
+ * Этап размножения одной клетки.
+ * <p>
+ * Вместо того чтобы каждое существо перебирало оставшихся в поисках партнёра (квадратичная сложность),
+ * этап один раз отбирает готовых к размножению, перемешивает их и сводит соседей по списку в пары.
+ * Новорождённые копятся в буфере и добавляются в клетку одной партией после обхода всех видов.
+ * <p>
+ * Экземпляр переиспользуется в пределах одной задачи и не является потокобезопасным.
+ */
+class PairingStage
+{
+    private final List<LifeForm> candidates = new ArrayList<>();
+    private final List<LifeForm> newborns = new ArrayList<>();
+
+    /**
+     * Разбивает существ одного вида на случайные пары и зачинает потомство.
+     *
+     * @param livingBeings существа одного вида в клетке
+     * @param random поток случайных чисел клетки
+     */
+    void pair(List<Living> livingBeings, RandomGenerator random)
+    {
+        candidates.clear();
+        for (Living livingBeing : livingBeings)
+        {
+            if (livingBeing instanceof LifeForm lifeForm && lifeForm.canBreed())
+            {
+                candidates.add(lifeForm);
+            }
+        }
+        if (candidates.size() < 2)
+        {
+            return;
+        }
+
+        Collections.shuffle(candidates, random);
+
+        for (int i = 0; i + 1 < candidates.size(); i += 2)
+        {
+            LifeForm newborn = candidates.get(i).conceive(candidates.get(i + 1));
+            if (newborn != null)
+            {
+                newborns.add(newborn);
+            }
+        }
+    }
+
+    /**
+     * Помещает всех накопленных новорождённых в клетку и очищает буфер.
+     *
+     * @param cell клетка, в которой родилось потомство
+     * @return количество новорождённых
+     */
+    int release(Cell cell)
+    {
+        int amount = newborns.size();
+        for (LifeForm newborn : newborns)
+        {
+            cell.addLivingBeing(newborn);
+        }
+        newborns.clear();
+        candidates.clear();
+        return amount;
+    }
+
+    /**
+     * Сбрасывает накопленное состояние без добавления потомства (например, после ошибки в клетке).
+     */
+    void discard()
+    {
+        newborns.clear();
+        candidates.clear();
+    }
+}
@@ -0,0 +1,42 @@
+package model.main.tasks;
+
+import model.main.Tile;
+
+/**
+ * Этапы одного цикла симуляции, выполняемые по участкам острова.
+ * Каждый этап умеет создать задачу для одного участка {@link Tile}.
+ */
+public enum Phase
+{
+    MOVE
+    {
+        @Override
+        public Runnable createTask(Tile tile, long phaseSeed)
+        {
+            return new MoveTask(tile, phaseSeed);
+        }
+    },
+    SETTLE
+    {
+        @Override
+        public Runnable createTask(Tile tile, long phaseSeed)
+        {
+            return new SettleTask(tile);
+        }
+    },
+    LIVE
+    {
+        @Override
+        public Runnable createTask(Tile tile, long phaseSeed)
+        {
+            return new LiveTask(tile, phaseSeed);
+        }
+    };
+
+    /**
+     * @param tile      участок острова
+     * @param phaseSeed зерно этапа, из которого клетки выводят свои потоки случайных чисел
+     * @return задача этапа для участка
+     */
+    public abstract Runnable createTask(Tile tile, long phaseSeed);
+}
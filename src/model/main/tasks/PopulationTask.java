@@ -1,13 +1,13 @@
 package model.main.tasks;
 
 import model.Living;
+import model.main.Island;
 import model.main.LifeFormFactory;
 import model.properties.Encyclopedia;
-import util.GeneralConstants;
 import model.properties.Registry;
+import util.RandomStreams;
 
-import java.util.concurrent.Phaser;
-import java.util.concurrent.ThreadLocalRandom;
+import java.util.SplittableRandom;
 
 /**
  * Задача для первоначального заселения острова существами одного вида.
@@ -16,40 +16,41 @@ import java.util.concurrent.ThreadLocalRandom;
  */
 public class PopulationTask implements Runnable
 {
-    private final Phaser phaser;
+    private final Island island;
 
     /**
      * Создаёт задачу для заселения определённого вида существ.
      *
+     * @param island заселяемый остров
      * @param livingNumber порядковый номер существа в {@link Encyclopedia}
-     * @param phaser синхронизатор для ожидания завершения всех задач
+     * @param seed зерно потока случайных чисел заселения этого вида
      */
-    public PopulationTask(int livingNumber, Phaser phaser)
+    public PopulationTask(Island island, int livingNumber, long seed)
     {
-        this.phaser = phaser;
+        this.island = island;
+        this.random = new SplittableRandom(seed);
         livingBeing = Encyclopedia.values()[livingNumber];
-        startAmount = Registry.getStartAmount(livingBeing);
+        startAmount = Registry.getStartAmount(livingBeing, island.getLength(), island.getHeight());
         maxAge = Registry.getMaxAge(livingBeing);
         maxSaturation = Registry.getMaxSaturationLevel(livingBeing);
     }
 
     private final Encyclopedia livingBeing;
-    private final ThreadLocalRandom random = ThreadLocalRandom.current();
+    private final SplittableRandom random;
     private final int startAmount;
     private final double maxAge;
     private final double maxSaturation;
 
     /**
      * Основной метод выполнения задачи.
-     * Регистрирует себя в {@link Phaser}, затем создаёт определённое количество особей
-     * указанного вида, размещая их в случайных клетках острова.
+     * Создаёт определённое количество особей указанного вида, размещая их в случайных клетках острова.
      * Возраст и уровень насыщения у каждого существа также выбираются случайным образом.
-     * После завершения — сообщает синхронизатору о завершении работы.
+     * Если остров разделён на процессы, создаются только существа полосы этого процесса, но случайные
+     * числа выбираются для всех — поэтому заселение совпадает с заселением целого острова.
      */
     @Override
     public void run()
     {
-        phaser.register();
         int x;
         int y;
         double age;
@@ -57,26 +58,14 @@ public class PopulationTask implements Runnable
 
         for (int i = 0; i < startAmount; i++)
         {
-            x = random.nextInt(GeneralConstants.LENGTH);
-            y = random.nextInt(GeneralConstants.HEIGHT);
-            age = getRandomDouble(maxAge);
-            saturation = getRandomDouble(maxSaturation);
-            LifeFormFactory.create(livingBeing, x, y, age, saturation);
+            x = random.nextInt(island.getLength());
+            y = random.nextInt(island.getHeight());
+            age = RandomStreams.getRandomDouble(random, maxAge);
+            saturation = RandomStreams.getRandomDouble(random, maxSaturation);
+            if (island.owns(y))
+            {
+                LifeFormFactory.create(livingBeing, island.getCell(x, y), age, saturation);
+            }
         }
-        phaser.arriveAndDeregister();
-    }
-
-    /**
-     * Генерирует случайное число от 0 до указанной границы и округляет его до двух знаков.
-     *
-     * Используется для генерации возраста и уровня насыщения создаваемых существ.
-     *
-     * @param bound верхняя граница значения
-     * @return округлённое значение от 0 до bound
-     */
-    public double getRandomDouble(double bound)
-    {
-        double number = random.nextDouble(bound);
-        return (double) Math.round(number * 100) / 100;
     }
 }
@@ -0,0 +1,35 @@
+package model.main.tasks;
+
+import lombok.AllArgsConstructor;
+import model.main.Cell;
+import model.main.Tile;
+import model.main.events.TileTaskEvent;
+
+/**
+ * Задача фиксации перемещений в клетках одного участка — второй этап передвижения.
+ * Каждая клетка добавляет в свою биоту всех прибывших за этот цикл.
+ * Задача изменяет только клетки своего участка, поэтому блокировки между клетками не нужны.
+ */
+@AllArgsConstructor
+public class SettleTask implements Runnable
+{
+    private final Tile tile;
+
+    @Override
+    public void run()
+    {
+        TileTaskEvent event = new TileTaskEvent();
+        event.begin();
+        int arrived = 0;
+        for (Cell cell : tile.getCells())
+        {
+            try {
+                arrived += cell.settleArrivals();
+            } catch (Throwable t) {
+                System.err.println("Exception in SettleTask for cell " + cell + ":");
+                t.printStackTrace();
+            }
+        }
+        event.finish(Phase.SETTLE, tile, arrived);
+    }
+}
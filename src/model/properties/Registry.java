@@ -2,20 +2,83 @@ package model.properties;
 
 
 import util.GeneralConstants;
-import util.JsonHandler;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 
-import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Хранилище конфигурационной информации обо всех формах жизни.
- * Загружает данные из JSON один раз при старте и предоставляет методы доступа.
+ * Загружает данные из JSON при старте потоковым разбором прямо в примитивные таблицы
+ * ({@link SpeciesTable}) и предоставляет методы доступа без упаковки значений.
+ * <p>
+ * Конфигурацию можно перезагрузить во время симуляции: новая таблица сначала подготавливается
+ * ({@link #stage(String)}), а публикуется только между циклами ({@link #publishStaged()}),
+ * когда потоки обработки стоят на барьере. Поэтому в пределах цикла все читатели видят одну
+ * и ту же неизменяемую таблицу, без блокировок и без частично обновлённых значений.
  */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public final class Registry
 {
-    private static final Map<Encyclopedia, InfoDTO> livingBeingInfo = JsonHandler.parseLifeFormInfo(GeneralConstants.INFO_PATH);
+    private static final AtomicInteger versions = new AtomicInteger();
+
+    private static volatile SpeciesTable table =
+            SpeciesTable.load(GeneralConstants.INFO_PATH, versions.incrementAndGet());
+
+    /**
+     * Подготовленная, но ещё не опубликованная таблица (или null).
+     */
+    private static final AtomicReference<SpeciesTable> staged = new AtomicReference<>();
+
+    /**
+     * Перечитывает файл с параметрами видов и подготавливает новую таблицу к публикации.
+     * Если предыдущая подготовленная таблица ещё не опубликована, она заменяется новой.
+     *
+     * @param path путь к JSON-файлу с параметрами видов
+     * @return номер версии подготовленной таблицы
+     * @throws exceptions.SpeciesCatalogException если файл не удалось прочитать или он содержит ошибки
+     */
+    public static int stage(String path)
+    {
+        SpeciesTable next = SpeciesTable.load(path, versions.incrementAndGet());
+        staged.set(next);
+        return next.version;
+    }
+
+    /**
+     * Публикует подготовленную таблицу. Вызывается основным потоком между циклами.
+     *
+     * @return true, если была опубликована новая таблица
+     */
+    public static boolean publishStaged()
+    {
+        SpeciesTable next = staged.getAndSet(null);
+        if (next == null)
+        {
+            return false;
+        }
+        table = next;
+        return true;
+    }
+
+    /**
+     * @return краткое описание действующей таблицы: версия и время загрузки
+     */
+    public static String getLoadReport()
+    {
+        SpeciesTable current = table;
+        return String.format("Параметры видов: версия %d, видов %d, загружены за %.2f мс",
+                current.version, current.weight.length, current.loadNanos / 1_000_000.0);
+    }
+
+    /**
+     * @return номер версии действующей таблицы параметров
+     */
+    public static int getVersion()
+    {
+        return table.version;
+    }
 
 
     /**
@@ -23,34 +86,29 @@ public final class Registry
      * @param type вид существа
      * @return вес
      */
-    public static Double getWeight(Encyclopedia type)
+    public static double getWeight(Encyclopedia type)
     {
-        InfoDTO lifeFormInfo = livingBeingInfo.get(type);
-        return lifeFormInfo.getWeight();
+        return table.weight[type.ordinal()];
     }
 
-    public static Integer getMaxCellAmount(Encyclopedia type)
+    public static int getMaxCellAmount(Encyclopedia type)
     {
-        InfoDTO lifeFormInfo = livingBeingInfo.get(type);
-        return lifeFormInfo.getMaxCellAmount();
+        return table.maxCellAmount[type.ordinal()];
     }
 
-    public static Integer getMaxSpeed(Encyclopedia type)
+    public static int getMaxSpeed(Encyclopedia type)
     {
-        InfoDTO lifeFormInfo = livingBeingInfo.get(type);
-        return lifeFormInfo.getMaxSpeed();
+        return table.maxSpeed[type.ordinal()];
     }
 
-    public static Double getMaxSaturationLevel(Encyclopedia type)
+    public static double getMaxSaturationLevel(Encyclopedia type)
     {
-        InfoDTO lifeFormInfo = livingBeingInfo.get(type);
-        return lifeFormInfo.getMaxSaturation();
+        return table.maxSaturation[type.ordinal()];
     }
 
-    public static Double getMaxAge(Encyclopedia type)
+    public static double getMaxAge(Encyclopedia type)
     {
-        InfoDTO lifeFormInfo = livingBeingInfo.get(type);
-        return lifeFormInfo.getMaxAge();
+        return table.maxAge[type.ordinal()];
     }
 
     /**
@@ -58,33 +116,41 @@ public final class Registry
      *
      * @param predator хищник
      * @param prey потенциальная жертва
-     * @return шанс (0–100)
+     * @return шанс (0–100); 0, если жертвы нет в рационе
      */
-    public static Integer getEatingChances(Encyclopedia predator, Encyclopedia prey)
+    public static int getEatingChances(Encyclopedia predator, Encyclopedia prey)
     {
-        InfoDTO lifeFormInfo = livingBeingInfo.get(predator);
-        Map<String, Integer> diet = lifeFormInfo.getDiet();
+        return table.eatingChances[predator.ordinal()][prey.ordinal()];
+    }
 
-        return diet.get(prey.toString());
+    /**
+     * Возвращает рацион вида в виде битовой маски по порядковым номерам {@link Encyclopedia}.
+     *
+     * @param predator вид, который ищет пищу
+     * @return маска съедобных видов (0, если вид никого не ест)
+     */
+    public static long getEdibleMask(Encyclopedia predator)
+    {
+        return table.edibleMasks[predator.ordinal()];
     }
 
     public static String getDisplay(Encyclopedia type)
     {
-        InfoDTO lifeFormInfo = livingBeingInfo.get(type);
-        return lifeFormInfo.getDisplay();
+        return table.display[type.ordinal()];
     }
 
 
     /**
-     * Вычисляет стартовое количество особей на острове, на основе площади острова и лимита на клетку.
+     * Вычисляет стартовое количество особей на острове, на основе размеров острова и лимита на клетку.
      *
      * @param type тип существа
+     * @param length ширина острова
+     * @param height высота острова
      * @return стартовое количество
      */
-    public static Integer getStartAmount(Encyclopedia type)
+    public static int getStartAmount(Encyclopedia type, int length, int height)
     {
-        double startAmount = ((double) (GeneralConstants.HEIGHT + GeneralConstants.LENGTH) / 100) * getMaxCellAmount(type) * 5;
+        double startAmount = ((double) (height + length) / 100) * getMaxCellAmount(type) * 5;
         return (int) Math.round(startAmount);
     }
-
 }
@@ -0,0 +1,125 @@
+package model.properties;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+
+/**
+ * Следит за файлом с параметрами видов и при его изменении подготавливает новую таблицу
+ * в {@link Registry}. Сама публикация выполняется симуляцией между циклами.
+ * Ошибка в изменённом файле не останавливает симуляцию: сообщение выводится,
+ * а действующая таблица остаётся прежней.
+ */
+public final class RegistryWatcher implements AutoCloseable
+{
+    /**
+     * Редакторы часто сохраняют файл в несколько записей — ждём, пока запись закончится.
+     */
+    private static final long SETTLE_MILLIS = 200;
+
+    private final Path file;
+    private final WatchService watchService;
+    private final Thread thread;
+
+    /**
+     * Запускает наблюдение в фоновом потоке.
+     *
+     * @param path путь к JSON-файлу с параметрами видов
+     */
+    public RegistryWatcher(String path)
+    {
+        this.file = Path.of(path).toAbsolutePath();
+        try
+        {
+            this.watchService = FileSystems.getDefault().newWatchService();
+            file.getParent().register(watchService,
+                    StandardWatchEventKinds.ENTRY_MODIFY,
+                    StandardWatchEventKinds.ENTRY_CREATE);
+        }
+        catch (IOException e)
+        {
+            throw new UncheckedIOException("Не удалось начать наблюдение за " + file, e);
+        }
+
+        this.thread = new Thread(this::watch, "registry-watcher");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void watch()
+    {
+        try
+        {
+            while (true)
+            {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents())
+                {
+                    if (event.context() instanceof Path changedFile && file.getFileName().equals(changedFile))
+                    {
+                        changed = true;
+                    }
+                }
+                key.reset();
+
+                if (changed)
+                {
+                    Thread.sleep(SETTLE_MILLIS);
+                    drainEvents();
+                    reload();
+                }
+            }
+        }
+        catch (InterruptedException | ClosedWatchServiceException _)
+        {
+            // наблюдение остановлено
+        }
+    }
+
+    private void drainEvents()
+    {
+        WatchKey key = watchService.poll();
+        while (key != null)
+        {
+            key.pollEvents();
+            key.reset();
+            key = watchService.poll();
+        }
+    }
+
+    private void reload()
+    {
+        try
+        {
+            long start = System.nanoTime();
+            int version = Registry.stage(file.toString());
+            System.out.printf("Параметры видов перечитаны из %s за %.2f мс, версия %d будет применена со следующего цикла%n",
+                    file.getFileName(), (System.nanoTime() - start) / 1_000_000.0, version);
+        }
+        catch (RuntimeException e)
+        {
+            System.err.println("Не удалось перечитать " + file + ": " + e.getMessage());
+        }
+    }
+
+    @Override
+    public void close()
+    {
+        try
+        {
+            watchService.close();
+        }
+        catch (IOException _)
+        {
+            // поток наблюдения всё равно завершится
+        }
+        thread.interrupt();
+    }
+}
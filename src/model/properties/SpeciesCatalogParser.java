@@ -0,0 +1,306 @@
+package model.properties;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import exceptions.NoSuchAnimalException;
+import exceptions.SpeciesCatalogException;
+import model.animals.herbivore.Herbivore;
+import model.plants.Plant;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Потоковый загрузчик описания видов ({@code info.json}) прямо в {@link SpeciesTable}.
+ * <p>
+ * Файл читается по токенам через {@link JsonParser}, без промежуточных карт и DTO.
+ * Ожидаемый формат:
+ * <pre>{@code
+ * {
+ *   "WOLF": {
+ *     "weight": 50.0,
+ *     "maxCellAmount": 30,
+ *     "maxSpeed": 3,
+ *     "saturation": 8.0,
+ *     "maxAge": 6.0,
+ *     "display": "🐺",
+ *     "diet": { "RABBIT": 60, "DUCK": 40 }
+ *   },
+ *   ...
+ * }
+ * }</pre>
+ * Имена видов в ключах и в рационе сравниваются с {@link Encyclopedia#name()} без учёта регистра.
+ * Проверяется, что описаны все виды, заданы все обязательные параметры, числа лежат в допустимых
+ * пределах (скорость -1 — только у растений), а шансы поедания — от 0 до 100. При ошибке выбрасывается {@link SpeciesCatalogException}
+ * с указанием файла, строки и столбца.
+ * <p>
+ * Травоядные едят все растения ({@link LivingBeingType#PLANT}) независимо от рациона в файле,
+ * в рационе перечисляются только дополнительные виды пищи.
+ */
+final class SpeciesCatalogParser
+{
+    private static final JsonFactory factory = new JsonFactory();
+
+    private static final String WEIGHT = "weight";
+    private static final String MAX_CELL_AMOUNT = "maxCellAmount";
+    private static final String MAX_SPEED = "maxSpeed";
+    private static final String SATURATION = "saturation";
+    private static final String MAX_SATURATION = "maxSaturation";
+    private static final String MAX_AGE = "maxAge";
+    private static final String DISPLAY = "display";
+    private static final String DIET = "diet";
+
+    /**
+     * Обязательные параметры вида — биты в маске прочитанных полей.
+     */
+    private static final int WEIGHT_BIT = 1;
+    private static final int MAX_CELL_AMOUNT_BIT = 1 << 1;
+    private static final int MAX_SPEED_BIT = 1 << 2;
+    private static final int SATURATION_BIT = 1 << 3;
+    private static final int MAX_AGE_BIT = 1 << 4;
+    private static final int DISPLAY_BIT = 1 << 5;
+    private static final int REQUIRED = (1 << 6) - 1;
+
+    private final Path path;
+    private final JsonParser parser;
+    private final SpeciesTable table;
+
+    private SpeciesCatalogParser(Path path, JsonParser parser, SpeciesTable table)
+    {
+        this.path = path;
+        this.parser = parser;
+        this.table = table;
+    }
+
+    /**
+     * Читает файл с описанием видов в новую таблицу.
+     *
+     * @param path    путь к JSON-файлу
+     * @param version номер версии таблицы
+     * @return заполненная таблица
+     * @throws SpeciesCatalogException при ошибке чтения, синтаксиса или проверки значений
+     */
+    static SpeciesTable parse(Path path, int version)
+    {
+        long start = System.nanoTime();
+        SpeciesTable table = new SpeciesTable(version);
+        try (JsonParser parser = factory.createParser(Files.newBufferedReader(path)))
+        {
+            new SpeciesCatalogParser(path, parser, table).readCatalog();
+        }
+        catch (JsonParseException e)
+        {
+            throw error(path, e.getLocation(), e.getOriginalMessage());
+        }
+        catch (IOException e)
+        {
+            throw new SpeciesCatalogException("Не удалось прочитать " + path.toAbsolutePath() + ": " + e.getMessage());
+        }
+        table.loadNanos = System.nanoTime() - start;
+        return table;
+    }
+
+    private void readCatalog() throws IOException
+    {
+        expect(parser.nextToken(), JsonToken.START_OBJECT, "объект с описанием видов");
+        boolean[] described = new boolean[table.weight.length];
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME)
+        {
+            Encyclopedia species = readSpeciesName();
+            if (described[species.ordinal()])
+            {
+                throw error("вид " + species + " описан повторно");
+            }
+            described[species.ordinal()] = true;
+            readSpecies(species);
+        }
+        expect(parser.currentToken(), JsonToken.END_OBJECT, "имя вида");
+        if (parser.nextToken() != null)
+        {
+            throw error("лишние данные после описания видов");
+        }
+
+        for (Encyclopedia species : Encyclopedia.values())
+        {
+            if (!described[species.ordinal()])
+            {
+                throw new SpeciesCatalogException(path + ": не описан вид " + species);
+            }
+        }
+
+        long plants = 0;
+        for (Encyclopedia plant : LivingBeingType.PLANT.getMembers())
+        {
+            plants |= 1L << plant.ordinal();
+        }
+        for (Encyclopedia species : Encyclopedia.values())
+        {
+            if (Herbivore.class.isAssignableFrom(species.getType()))
+            {
+                table.edibleMasks[species.ordinal()] |= plants;
+            }
+        }
+    }
+
+    private void readSpecies(Encyclopedia species) throws IOException
+    {
+        int i = species.ordinal();
+        expect(parser.nextToken(), JsonToken.START_OBJECT, "объект с параметрами вида " + species);
+        JsonLocation start = parser.currentTokenLocation();
+        int read = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME)
+        {
+            String field = parser.currentName();
+            parser.nextToken();
+            switch (field)
+            {
+                case WEIGHT ->
+                {
+                    table.weight[i] = readDouble(field, Double.MIN_VALUE);
+                    read |= WEIGHT_BIT;
+                }
+                case MAX_CELL_AMOUNT ->
+                {
+                    table.maxCellAmount[i] = readInt(field, 1, Integer.MAX_VALUE);
+                    read |= MAX_CELL_AMOUNT_BIT;
+                }
+                case MAX_SPEED ->
+                {
+                    // -1 — неподвижный вид, допустимо только для растений
+                    table.maxSpeed[i] = readInt(field, isPlant(species) ? -1 : 0, Integer.MAX_VALUE);
+                    read |= MAX_SPEED_BIT;
+                }
+                case SATURATION, MAX_SATURATION ->
+                {
+                    table.maxSaturation[i] = readDouble(field, 0);
+                    read |= SATURATION_BIT;
+                }
+                case MAX_AGE ->
+                {
+                    table.maxAge[i] = readDouble(field, Double.MIN_VALUE);
+                    read |= MAX_AGE_BIT;
+                }
+                case DISPLAY ->
+                {
+                    expect(parser.currentToken(), JsonToken.VALUE_STRING, "строка в поле " + field);
+                    table.display[i] = parser.getText();
+                    read |= DISPLAY_BIT;
+                }
+                case DIET -> readDiet(species);
+                default -> throw error("неизвестный параметр " + field + " у вида " + species);
+            }
+        }
+
+        if ((read & REQUIRED) != REQUIRED)
+        {
+            throw error(path, start, "у вида " + species + " не заданы параметры: " + describeMissing(read));
+        }
+    }
+
+    private void readDiet(Encyclopedia predator) throws IOException
+    {
+        if (parser.currentToken() == JsonToken.VALUE_NULL)
+        {
+            return;
+        }
+        expect(parser.currentToken(), JsonToken.START_OBJECT, "объект с рационом вида " + predator);
+        int i = predator.ordinal();
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME)
+        {
+            Encyclopedia prey = readSpeciesName();
+            parser.nextToken();
+            int chance = readInt("diet." + prey, 0, 100);
+            table.eatingChances[i][prey.ordinal()] = chance;
+            if (prey != predator && chance > 0)
+            {
+                table.edibleMasks[i] |= 1L << prey.ordinal();
+            }
+        }
+    }
+
+    private Encyclopedia readSpeciesName() throws IOException
+    {
+        String name = parser.currentName();
+        try
+        {
+            return Encyclopedia.getLivingBeing(name);
+        }
+        catch (NoSuchAnimalException _)
+        {
+            throw error("неизвестный вид " + name);
+        }
+    }
+
+    private double readDouble(String field, double minValue) throws IOException
+    {
+        JsonToken token = parser.currentToken();
+        if (token != JsonToken.VALUE_NUMBER_FLOAT && token != JsonToken.VALUE_NUMBER_INT)
+        {
+            throw error("в поле " + field + " ожидалось число, получено " + parser.getText());
+        }
+        double value = parser.getDoubleValue();
+        if (!(value >= minValue) || Double.isInfinite(value))
+        {
+            throw error("значение поля " + field + " вне допустимых пределов: " + parser.getText());
+        }
+        return value;
+    }
+
+    private int readInt(String field, int minValue, int maxValue) throws IOException
+    {
+        if (parser.currentToken() != JsonToken.VALUE_NUMBER_INT)
+        {
+            throw error("в поле " + field + " ожидалось целое число, получено " + parser.getText());
+        }
+        long value = parser.getLongValue();
+        if (value < minValue || value > maxValue)
+        {
+            throw error("значение поля " + field + " должно быть от " + minValue + " до " + maxValue + ": " + value);
+        }
+        return (int) value;
+    }
+
+    private void expect(JsonToken actual, JsonToken expected, String description) throws IOException
+    {
+        if (actual != expected)
+        {
+            throw error("ожидался " + description + ", получено " + (actual == null ? "конец файла" : parser.getText()));
+        }
+    }
+
+    private static boolean isPlant(Encyclopedia species)
+    {
+        return Plant.class.isAssignableFrom(species.getType());
+    }
+
+    private static String describeMissing(int read)
+    {
+        StringBuilder missing = new StringBuilder();
+        String[] names = {WEIGHT, MAX_CELL_AMOUNT, MAX_SPEED, SATURATION, MAX_AGE, DISPLAY};
+        for (int bit = 0; bit < names.length; bit++)
+        {
+            if ((read & (1 << bit)) == 0)
+            {
+                missing.append(missing.isEmpty() ? "" : ", ").append(names[bit]);
+            }
+        }
+        return missing.toString();
+    }
+
+    private SpeciesCatalogException error(String message)
+    {
+        return error(path, parser.currentTokenLocation(), message);
+    }
+
+    private static SpeciesCatalogException error(Path path, JsonLocation location, String message)
+    {
+        return new SpeciesCatalogException(path + ":" + location.getLineNr() + ":" + location.getColumnNr() + ": " + message);
+    }
+}
@@ -0,0 +1,65 @@
+package model.properties;
+
+import java.nio.file.Path;
+
+/**
+ * Неизменяемая таблица параметров всех видов, заполняемая {@link SpeciesCatalogParser}.
+ * <p>
+ * Параметры лежат в примитивных массивах по {@link Encyclopedia#ordinal()},
+ * шансы поедания — в плотной матрице {@code хищник × жертва}, поэтому чтение на горячем пути —
+ * это одно обращение к массиву без поиска в картах и без упаковки чисел.
+ * <p>
+ * Таблица никогда не изменяется после загрузки: новая конфигурация видов публикуется
+ * заменой всей таблицы в {@link Registry}.
+ */
+final class SpeciesTable
+{
+    private static final Encyclopedia[] SPECIES = Encyclopedia.values();
+
+    /**
+     * Номер версии таблицы: 1 — загруженная при старте, далее увеличивается при каждой перезагрузке.
+     */
+    final int version;
+
+    final double[] weight = new double[SPECIES.length];
+    final int[] maxCellAmount = new int[SPECIES.length];
+    final int[] maxSpeed = new int[SPECIES.length];
+    final double[] maxSaturation = new double[SPECIES.length];
+    final double[] maxAge = new double[SPECIES.length];
+    final String[] display = new String[SPECIES.length];
+
+    /**
+     * Шанс (0–100), что хищник {@code [predator]} съест жертву {@code [prey]}; 0 — не ест.
+     */
+    final int[][] eatingChances = new int[SPECIES.length][SPECIES.length];
+
+    /**
+     * Рацион каждого вида в виде битовой маски: бит {@code prey.ordinal()} установлен,
+     * если шанс съесть {@code prey} больше нуля (сам вид не включается). У травоядных дополнительно
+     * установлены биты всех растений.
+     */
+    final long[] edibleMasks = new long[SPECIES.length];
+
+    /**
+     * Время чтения и проверки файла, из которого собрана таблица.
+     */
+    long loadNanos;
+
+    SpeciesTable(int version)
+    {
+        this.version = version;
+    }
+
+    /**
+     * Загружает таблицу из JSON-файла с описанием видов.
+     *
+     * @param path    путь к файлу
+     * @param version номер версии таблицы
+     * @return готовая таблица
+     * @throws exceptions.SpeciesCatalogException если файл не удалось прочитать или он содержит ошибки
+     */
+    static SpeciesTable load(String path, int version)
+    {
+        return SpeciesCatalogParser.parse(Path.of(path), version);
+    }
+}
@@ -0,0 +1,21 @@
+package util;
+
+/**
+ * Способ параллельного выполнения этапов симуляции.
+ */
+public enum EngineType
+{
+    /**
+     * Пул потоков фиксированного размера: одна задача на участок, синхронизация через {@link java.util.concurrent.CountDownLatch}.
+     */
+    POOL,
+    /**
+     * {@link java.util.concurrent.ForkJoinPool}: карта рекурсивно делится пополам,
+     * свободные потоки забирают (крадут) части плотно заселённых областей.
+     */
+    FORK_JOIN,
+    /**
+     * Виртуальные потоки: по потоку на задачу участка, барьер — закрытие исполнителя этапа.
+     */
+    VIRTUAL
+}
@@ -4,6 +4,7 @@ import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 /**
  * Утильный класс, содержащий общие константы, используемые в симуляции острова.
+ * Значения с префиксом {@code DEFAULT_} применяются, если параметр не задан в {@link SimulationConfig}.
  * <p>
  * Закрытый конструктор предотвращает создание экземпляров.
  */
@@ -11,10 +12,19 @@ import lombok.NoArgsConstructor;
 public class GeneralConstants
 {
     public static final int CYCLE_TIME = 1;
-    public static final int MAX_PROCESSING_THREADS = 4;
-    public static final int MAX_CYCLES = 500;
-    public static final int LENGTH = 20;
-    public static final int HEIGHT = 20;
-    public static final int CELLS_AMOUNT = LENGTH * HEIGHT;
+    /**
+     * Существа размножаются в каждом цикле, номер которого кратен этому периоду.
+     */
+    public static final int BREEDING_PERIOD = 5;
+    public static final int DEFAULT_PROCESSING_THREADS = 4;
+    public static final int DEFAULT_MAX_CYCLES = 500;
+    public static final int DEFAULT_LENGTH = 20;
+    public static final int DEFAULT_HEIGHT = 20;
     public static final String INFO_PATH = "info.json";
+    public static final String CONFIG_PATH = "simulation.properties";
+    /**
+     * Использовать колоночное хранилище популяции {@link model.main.population.PopulationStore}
+     * вместо отдельных объектов существ в клетках.
+     */
+    public static final boolean DEFAULT_COLUMNAR_POPULATION = false;
 }
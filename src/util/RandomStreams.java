@@ -0,0 +1,80 @@
+package util;
+
+import lombok.Getter;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Источник воспроизводимых случайных потоков симуляции.
+ * <p>
+ * Из одного начального зерна (seed) детерминированно выводятся независимые зёрна:
+ * для каждого вида при заселении, для каждого этапа каждого цикла и для каждой клетки внутри этапа.
+ * Так как каждая клетка на каждом этапе получает собственный поток, результат не зависит
+ * от количества потоков, размера участков и порядка их выполнения.
+ */
+public final class RandomStreams
+{
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    @Getter
+    private final long seed;
+
+    public RandomStreams(long seed)
+    {
+        this.seed = seed;
+    }
+
+    /**
+     * @param ordinal порядковый номер вида
+     * @return зерно потока для заселения острова видом
+     */
+    public long populationSeed(int ordinal)
+    {
+        return mix(mix(seed ^ 0x5DEECE66DL) + GOLDEN_GAMMA * (ordinal + 1));
+    }
+
+    /**
+     * @param cycle номер цикла
+     * @param phase номер этапа цикла
+     * @return зерно этапа, из которого выводятся зёрна клеток
+     */
+    public long phaseSeed(int cycle, int phase)
+    {
+        return mix(mix(seed + GOLDEN_GAMMA * (cycle + 1)) + GOLDEN_GAMMA * (phase + 1));
+    }
+
+    /**
+     * @param phaseSeed зерно этапа
+     * @param x         координата клетки X
+     * @param y         координата клетки Y
+     * @return зерно потока клетки на этапе
+     */
+    public static long cellSeed(long phaseSeed, int x, int y)
+    {
+        return mix(phaseSeed ^ mix(((long) y << 32) | (x & 0xFFFFFFFFL)));
+    }
+
+    /**
+     * Генерирует случайное число от 0 до указанной границы и округляет его до двух знаков.
+     * Используется для генерации возраста и уровня насыщения существ при заселении острова.
+     *
+     * @param random поток случайных чисел
+     * @param bound  верхняя граница значения
+     * @return округлённое значение от 0 до bound
+     */
+    public static double getRandomDouble(RandomGenerator random, double bound)
+    {
+        double number = random.nextDouble(bound);
+        return (double) Math.round(number * 100) / 100;
+    }
+
+    /**
+     * Финализатор SplitMix64: хорошо перемешивает биты соседних значений.
+     */
+    static long mix(long z)
+    {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,21 @@
+package util;
+
+/**
+ * Способ отрисовки поля после каждого цикла.
+ */
+public enum RenderMode
+{
+    /**
+     * Отрисовка в основном потоке: симуляция ждёт вывода каждого кадра.
+     */
+    SYNC,
+    /**
+     * Отрисовка в фоновом потоке: симуляция только копирует кадр в буфер,
+     * а если отрисовка отстаёт, промежуточные кадры пропускаются.
+     */
+    ASYNC,
+    /**
+     * Без отрисовки поля: выводятся только итоговые сообщения и отчёты.
+     */
+    HEADLESS
+}
@@ -0,0 +1,292 @@
+package util;
+
+import exceptions.SimulationConfigException;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Параметры запуска симуляции: размер острова, количество потоков, лимит циклов и режим хранения популяции.
+ * <p>
+ * Значения собираются в порядке возрастания приоритета:
+ * <ol>
+ *     <li>значения по умолчанию из {@link GeneralConstants};</li>
+ *     <li>файл настроек {@code simulation.properties} рядом с {@code info.json}
+ *     (или файл, указанный аргументом {@code --config=путь});</li>
+ *     <li>аргументы командной строки вида {@code --ключ=значение}.</li>
+ * </ol>
+ * Неизвестные ключи и неверные значения отклоняются {@link SimulationConfigException}.
+ * Экземпляр неизменяем.
+ */
+@Getter
+public final class SimulationConfig
+{
+    private static final String CONFIG_KEY = "config";
+    private static final String LENGTH_KEY = "length";
+    private static final String HEIGHT_KEY = "height";
+    private static final String THREADS_KEY = "threads";
+    private static final String CYCLES_KEY = "cycles";
+    private static final String COLUMNAR_KEY = "columnar";
+    private static final String TILE_SIZE_KEY = "tile";
+    private static final String ENGINE_KEY = "engine";
+    private static final String SEED_KEY = "seed";
+    private static final String RENDER_KEY = "render";
+    private static final String RELOAD_KEY = "reload";
+    private static final String CHECKPOINT_KEY = "checkpoint";
+    private static final String CHECKPOINT_EVERY_KEY = "checkpointEvery";
+    private static final String RESTORE_KEY = "restore";
+    private static final String SHARDS_KEY = "shards";
+
+    private static final Set<String> KEYS = Set.of(CONFIG_KEY, LENGTH_KEY, HEIGHT_KEY, THREADS_KEY, CYCLES_KEY,
+            COLUMNAR_KEY, TILE_SIZE_KEY, ENGINE_KEY, SEED_KEY, RENDER_KEY, RELOAD_KEY, CHECKPOINT_KEY,
+            CHECKPOINT_EVERY_KEY, RESTORE_KEY, SHARDS_KEY);
+
+    private final int length;
+    private final int height;
+    private final int threads;
+    private final int maxCycles;
+    private final boolean columnarPopulation;
+    /**
+     * Сторона участка острова в клетках; 0 — подобрать по количеству клеток и потоков.
+     */
+    private final int tileSize;
+    private final EngineType engine;
+    /**
+     * Начальное зерно случайных потоков. Если не задано — берётся из текущего времени;
+     * повторный запуск с тем же зерном и размером острова воспроизводит симуляцию при любом количестве потоков.
+     */
+    private final long seed;
+    private final RenderMode render;
+    /**
+     * Перечитывать {@code info.json} при его изменении во время симуляции.
+     */
+    private final boolean reloadSpecies;
+    /**
+     * Файл, в который сохраняется контрольная точка острова, или null.
+     */
+    private final Path checkpointPath;
+    /**
+     * Сохранять контрольную точку каждые N циклов; 0 — только по завершении симуляции.
+     */
+    private final int checkpointEvery;
+    /**
+     * Контрольная точка, из которой восстанавливается остров вместо случайного заселения, или null.
+     */
+    private final Path restorePath;
+    /**
+     * Количество процессов, между которыми горизонтальными полосами делится остров; 1 — один процесс.
+     * Настройка {@code threads} при этом задаёт количество потоков каждого процесса.
+     */
+    private final int shards;
+
+    private SimulationConfig(Properties properties)
+    {
+        checkKeys(properties);
+        length = readInt(properties, LENGTH_KEY, GeneralConstants.DEFAULT_LENGTH, 1);
+        height = readInt(properties, HEIGHT_KEY, GeneralConstants.DEFAULT_HEIGHT, 1);
+        threads = readInt(properties, THREADS_KEY, GeneralConstants.DEFAULT_PROCESSING_THREADS, 1);
+        maxCycles = readInt(properties, CYCLES_KEY, GeneralConstants.DEFAULT_MAX_CYCLES, 1);
+        columnarPopulation = readBoolean(properties, COLUMNAR_KEY, GeneralConstants.DEFAULT_COLUMNAR_POPULATION);
+        tileSize = readInt(properties, TILE_SIZE_KEY, 0, 0);
+        engine = readEnum(properties, ENGINE_KEY, EngineType.POOL);
+        seed = readLong(properties, SEED_KEY, System.nanoTime());
+        render = readEnum(properties, RENDER_KEY, RenderMode.ASYNC);
+        reloadSpecies = readBoolean(properties, RELOAD_KEY, false);
+        checkpointPath = readPath(properties, CHECKPOINT_KEY);
+        checkpointEvery = readInt(properties, CHECKPOINT_EVERY_KEY, 0, 0);
+        restorePath = readPath(properties, RESTORE_KEY);
+        shards = readInt(properties, SHARDS_KEY, 1, 1);
+
+        if (columnarPopulation && (checkpointPath != null || restorePath != null))
+        {
+            throw new SimulationConfigException("Контрольные точки не поддерживаются колоночной популяцией");
+        }
+        if (shards > 1 && (columnarPopulation || reloadSpecies || checkpointPath != null || restorePath != null))
+        {
+            throw new SimulationConfigException(
+                    "Разделение на процессы несовместимо с колоночной популяцией, перезагрузкой видов и контрольными точками");
+        }
+        if (shards > height)
+        {
+            throw new SimulationConfigException("Процессов (" + shards + ") больше, чем строк острова (" + height + ")");
+        }
+    }
+
+    /**
+     * @return конфигурация со значениями по умолчанию
+     */
+    public static SimulationConfig defaults()
+    {
+        return new SimulationConfig(new Properties());
+    }
+
+    /**
+     * Собирает конфигурацию из файла настроек и аргументов командной строки.
+     *
+     * @param args аргументы вида {@code --ключ=значение}
+     * @return итоговая конфигурация
+     * @throws SimulationConfigException при неверном аргументе, значении или ошибке чтения файла
+     */
+    public static SimulationConfig load(String[] args)
+    {
+        Properties arguments = parseArguments(args);
+        boolean isExplicit = arguments.containsKey(CONFIG_KEY);
+        Path path = Path.of(arguments.getProperty(CONFIG_KEY, GeneralConstants.CONFIG_PATH));
+
+        Properties properties = new Properties();
+        if (Files.exists(path))
+        {
+            try (Reader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8))
+            {
+                properties.load(reader);
+            }
+            catch (IOException e)
+            {
+                throw new SimulationConfigException("Не удалось прочитать файл настроек " + path + ": " + e.getMessage());
+            }
+        }
+        else if (isExplicit)
+        {
+            throw new SimulationConfigException("Файл настроек не найден: " + path.toAbsolutePath());
+        }
+
+        properties.putAll(arguments);
+        return new SimulationConfig(properties);
+    }
+
+    public int getCellsAmount()
+    {
+        return length * height;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "Остров " + length + "x" + height +
+                ", движок: " + engine +
+                ", потоков: " + threads +
+                ", циклов: " + maxCycles +
+                ", участок: " + (tileSize == 0 ? "авто" : tileSize + "x" + tileSize) +
+                ", зерно: " + seed +
+                ", отрисовка: " + render +
+                (columnarPopulation ? ", колоночная популяция" : "") +
+                (reloadSpecies ? ", перезагрузка " + GeneralConstants.INFO_PATH : "") +
+                (restorePath != null ? ", восстановление из " + restorePath : "") +
+                (shards > 1 ? ", процессов: " + shards : "") +
+                (checkpointPath != null ? ", контрольная точка " + checkpointPath +
+                        (checkpointEvery > 0 ? " каждые " + checkpointEvery + " циклов" : "") : "");
+    }
+
+    private static Properties parseArguments(String[] args)
+    {
+        Properties arguments = new Properties();
+        for (String arg : args)
+        {
+            int separator = arg.indexOf('=');
+            if (!arg.startsWith("--") || separator < 3)
+            {
+                throw new SimulationConfigException("Аргумент должен иметь вид --ключ=значение: " + arg);
+            }
+            arguments.setProperty(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return arguments;
+    }
+
+    /**
+     * Отклоняет неизвестные параметры, чтобы опечатка в ключе не подменялась значением по умолчанию.
+     */
+    private static void checkKeys(Properties properties)
+    {
+        for (String key : properties.stringPropertyNames())
+        {
+            if (!KEYS.contains(key))
+            {
+                throw new SimulationConfigException("Неизвестный параметр " + key + ", допустимые: " + new TreeSet<>(KEYS));
+            }
+        }
+    }
+
+    private static int readInt(Properties properties, String key, int defaultValue, int minValue)
+    {
+        String value = properties.getProperty(key);
+        if (value == null)
+        {
+            return defaultValue;
+        }
+        try
+        {
+            int number = Integer.parseInt(value.trim());
+            if (number < minValue)
+            {
+                throw new SimulationConfigException("Параметр " + key + " должен быть не меньше " + minValue + ": " + value);
+            }
+            return number;
+        }
+        catch (NumberFormatException _)
+        {
+            throw new SimulationConfigException("Параметр " + key + " должен быть целым числом: " + value);
+        }
+    }
+
+    private static long readLong(Properties properties, String key, long defaultValue)
+    {
+        String value = properties.getProperty(key);
+        if (value == null || value.isBlank())
+        {
+            return defaultValue;
+        }
+        try
+        {
+            return Long.parseLong(value.trim());
+        }
+        catch (NumberFormatException _)
+        {
+            throw new SimulationConfigException("Параметр " + key + " должен быть целым числом: " + value);
+        }
+    }
+
+    private static <E extends Enum<E>> E readEnum(Properties properties, String key, E defaultValue)
+    {
+        String value = properties.getProperty(key);
+        if (value == null)
+        {
+            return defaultValue;
+        }
+        try
+        {
+            return Enum.valueOf(defaultValue.getDeclaringClass(), value.trim().toUpperCase().replace('-', '_'));
+        }
+        catch (IllegalArgumentException _)
+        {
+            throw new SimulationConfigException("Неизвестное значение параметра " + key + ": " + value);
+        }
+    }
+
+    private static Path readPath(Properties properties, String key)
+    {
+        String value = properties.getProperty(key);
+        return value == null || value.isBlank() ? null : Path.of(value.trim());
+    }
+
+    private static boolean readBoolean(Properties properties, String key, boolean defaultValue)
+    {
+        String value = properties.getProperty(key);
+        if (value == null)
+        {
+            return defaultValue;
+        }
+        return switch (value.trim().toLowerCase())
+        {
+            case "true" -> true;
+            case "false" -> false;
+            default -> throw new SimulationConfigException("Параметр " + key + " должен быть true или false: " + value);
+        };
+    }
+}
@@ -0,0 +1,40 @@
+package util;
+
+import lombok.Getter;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Быстрый генератор SplitMix64 с возможностью перезапуска с новым зерном без создания объектов.
+ * Используется как поток случайных чисел клетки: перед каждым этапом клетка получает новое зерно
+ * из {@link RandomStreams}. Не потокобезопасен.
+ */
+public final class SplitMixRandom implements RandomGenerator
+{
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    @Getter
+    private long state;
+
+    public SplitMixRandom(long seed)
+    {
+        this.state = seed;
+    }
+
+    /**
+     * Перезапускает генератор с новым зерном.
+     *
+     * @param seed зерно
+     */
+    public void reset(long seed)
+    {
+        this.state = seed;
+    }
+
+    @Override
+    public long nextLong()
+    {
+        state += GOLDEN_GAMMA;
+        return RandomStreams.mix(state);
+    }
+}
@@ -2,12 +2,9 @@ package view;
 
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
-import model.main.Cell;
-import model.main.Island;
-import model.main.Statistics;
-import model.properties.DeathCause;
+import model.properties.Encyclopedia;
 import model.properties.EndReason;
-import util.GeneralConstants;
+import model.properties.Registry;
 
 import java.util.List;
 
@@ -15,46 +12,46 @@ import java.util.List;
  * Утилитный класс, отвечающий за визуализацию текущего состояния острова в консоль.
  * <p>
  * Отображает сетку острова, статистику смертей, спаривания, количество съеденных животных и другие данные.
+ * Поле рисуется по снимку {@link Frame}, который передаёт {@link FrameRenderer}.
  */
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class Drawer
 {
-    private static final int ROWS = GeneralConstants.LENGTH;
-    private static final int COLS = GeneralConstants.HEIGHT;
     private static final String BORDER = "=".repeat(15);
+    private static final String EMPTY_CELL = "  ";
 
-    private static List<String> mostPopularAnimalChars;
-    private static List<String> mostPopularPlantChars;
+    private static final Encyclopedia[] SPECIES = Encyclopedia.values();
 
     /**
-     * Устанавливает символы самых популярных животных и растений для дальнейшей отрисовки поля.
-     *
-     * @param mostPopularAnimalChars список символов животных для каждой клетки
-     * @param mostPopularPlantChars  список символов растений для каждой клетки
+     * Активный конвейер отрисовки: перед выводом итоговых сообщений дожидаемся его кадров.
      */
-    public static void receiveMostPopularChars(List<String> mostPopularAnimalChars,
-                                               List<String> mostPopularPlantChars)
+    private static FrameRenderer renderer;
+
+    static void setRenderer(FrameRenderer renderer)
     {
-        Drawer.mostPopularAnimalChars = mostPopularAnimalChars;
-        Drawer.mostPopularPlantChars = mostPopularPlantChars;
+        Drawer.renderer = renderer;
     }
 
     /**
-     * Отрисовывает текущее состояние игрового поля и статистику за текущий цикл.
+     * Отрисовывает кадр: статистику за цикл и состояние игрового поля.
+     *
+     * @param frame снимок состояния острова
      */
-    public static void drawField() {
+    static void drawFrame(Frame frame) {
         StringBuilder sb = new StringBuilder();
+        int rows = frame.getHeight();
+        int cols = frame.getLength();
 
-        drawStatistics();
-        drawTopBorder(sb);
+        drawStatistics(sb, frame);
+        drawTopBorder(sb, cols);
 
-        for (int row = 0; row < ROWS; row++) {
-            drawCellContent(sb, row);
+        for (int row = 0; row < rows; row++) {
+            drawCellContent(sb, frame, row);
 
-            if (row < ROWS - 1) {
-                drawRowSeparator(sb);
+            if (row < rows - 1) {
+                drawRowSeparator(sb, cols);
             } else {
-                drawBottomBorder(sb);
+                drawBottomBorder(sb, cols);
             }
         }
         System.out.print(sb);
@@ -62,76 +59,105 @@ public class Drawer
 
     /**
      * Отображает статистику за текущий день, включая количество спариваний, смертей и поеданий.
+     *
+     * @param sb    строковый буфер
+     * @param frame снимок состояния острова
      */
-    private static void drawStatistics()
+    private static void drawStatistics(StringBuilder sb, Frame frame)
     {
-        System.out.println(BORDER + "DAY " + Statistics.getCurrentCycleNumber() + BORDER);
-        System.out.println("Животных спарено: " + Statistics.getBreedingCount());
-        System.out.println("Животных съедено: " + Statistics.getDeathCount(DeathCause.EATEN));
-        System.out.println("Животных умерло от голода: " + Statistics.getDeathCount(DeathCause.HUNGER));
-        System.out.println("Животных умерло от старости: " + Statistics.getDeathCount(DeathCause.NATURAL));
-        System.out.println("Животные, которые поели: " + Statistics.getAteCount());
+        sb.append(BORDER).append("DAY ").append(frame.getCycle()).append(BORDER).append('\n');
+        sb.append("Животных спарено: ").append(frame.getBreedingCount()).append('\n');
+        sb.append("Животных съедено: ").append(frame.getEatenCount()).append('\n');
+        sb.append("Животных умерло от голода: ").append(frame.getHungerDeathCount()).append('\n');
+        sb.append("Животных умерло от старости: ").append(frame.getNaturalDeathCount()).append('\n');
+        sb.append("Животные, которые поели: ").append(frame.getAteCount()).append('\n');
     }
 
     /**
      * Отрисовывает верхнюю границу таблицы.
      *
-     * @param sb строковый буфер, в который добавляется разметка
+     * @param sb   строковый буфер, в который добавляется разметка
+     * @param cols количество столбцов поля
      */
-    private static void drawTopBorder(StringBuilder sb) {
+    private static void drawTopBorder(StringBuilder sb, int cols) {
         sb.append("╔");
-        sb.append("════╦".repeat(Math.max(0, GeneralConstants.HEIGHT - 1)));
+        sb.append("════╦".repeat(Math.max(0, cols - 1)));
         sb.append("════╗\n");
     }
 
     /**
      * Отрисовывает содержимое строки поля: животных и растения.
      *
-     * @param sb  строковый буфер
-     * @param row индекс строки
+     * @param sb    строковый буфер
+     * @param frame снимок состояния острова
+     * @param row   индекс строки
      */
-    private static void drawCellContent(StringBuilder sb, int row) {
+    private static void drawCellContent(StringBuilder sb, Frame frame, int row) {
         // Верхняя строка с животными и растениями
+        int cols = frame.getLength();
+        byte[] animals = frame.getAnimals();
+        byte[] plants = frame.getPlants();
         int index;
         sb.append("║");
-        for (int col = 0; col < COLS; col++) {
-            index = row * COLS + col;
-            String animalChar = mostPopularAnimalChars.get(index);
-            String plantChar = mostPopularPlantChars.get(index);
-            sb.append(animalChar).append(plantChar).append("║");
+        for (int col = 0; col < cols; col++) {
+            index = row * cols + col;
+            sb.append(getDisplay(animals[index])).append(getDisplay(plants[index])).append("║");
         }
         sb.append("\n");
 
 
         sb.append("║");
-        for (int col = 0; col < COLS; col++) {
+        for (int col = 0; col < cols; col++) {
             sb.append("    ").append("║");
         }
         sb.append("\n");
     }
 
+    private static String getDisplay(byte ordinal)
+    {
+        return ordinal == Frame.EMPTY ? EMPTY_CELL : Registry.getDisplay(SPECIES[ordinal]);
+    }
+
     /**
      * Отрисовывает разделительную строку между строками поля.
      *
-     * @param sb строковый буфер
+     * @param sb   строковый буфер
+     * @param cols количество столбцов поля
      */
-    private static void drawRowSeparator(StringBuilder sb) {
+    private static void drawRowSeparator(StringBuilder sb, int cols) {
         sb.append("╠");
-        sb.append("════╬".repeat(Math.max(0, GeneralConstants.HEIGHT - 1)));
+        sb.append("════╬".repeat(Math.max(0, cols - 1)));
         sb.append("════╣\n");
     }
 
     /**
      * Отрисовывает нижнюю границу таблицы.
      *
-     * @param sb строковый буфер
+     * @param sb   строковый буфер
+     * @param cols количество столбцов поля
      */
-    private static void drawBottomBorder(StringBuilder sb) {
+    private static void drawBottomBorder(StringBuilder sb, int cols) {
         sb.append("╚");
-        sb.append("════╩".repeat(Math.max(0, GeneralConstants.HEIGHT - 1)));
+        sb.append("════╩".repeat(Math.max(0, cols - 1)));
         sb.append("════╝\n");
     }
 
+    /**
+     * Выводит произвольный текстовый отчёт с заголовком (например, итоговые замеры времени).
+     *
+     * @param title заголовок отчёта
+     * @param lines строки отчёта
+     */
+    public static void drawReport(String title, List<String> lines)
+    {
+        flushRenderer();
+        System.out.println(BORDER + title + BORDER);
+        for (String line : lines)
+        {
+            System.out.println(line);
+        }
+    }
+
     /**
      * Отображает финальное сообщение при завершении симуляции по определённой причине.
      *
@@ -139,6 +165,7 @@ public class Drawer
      */
     public static void drawEnd(EndReason reason)
     {
+        flushRenderer();
         System.out.println(BORDER.repeat(7));
         switch (reason)
         {
@@ -151,6 +178,11 @@ public class Drawer
         System.out.println(BORDER.repeat(7));
     }
 
-
-
+    private static void flushRenderer()
+    {
+        if (renderer != null)
+        {
+            renderer.flush();
+        }
+    }
 }
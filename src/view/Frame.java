@@ -0,0 +1,66 @@
+package view;
+
+import lombok.Getter;
+import model.main.Statistics;
+import model.properties.DeathCause;
+
+/**
+ * Снимок состояния острова для отрисовки одного кадра.
+ * Хранит номер цикла, счётчики статистики и для каждой клетки порядковые номера самого
+ * многочисленного животного и растения в примитивных массивах, поэтому заполнение кадра
+ * не создаёт объектов. Кадры переиспользуются {@link FrameRenderer}.
+ */
+@Getter
+public final class Frame
+{
+    /**
+     * Значение клетки, в которой нет представителей категории.
+     */
+    public static final byte EMPTY = -1;
+
+    private final int length;
+    private final int height;
+    private final byte[] animals;
+    private final byte[] plants;
+
+    private int cycle;
+    private long breedingCount;
+    private long eatenCount;
+    private long hungerDeathCount;
+    private long naturalDeathCount;
+    private long ateCount;
+
+    Frame(int length, int height)
+    {
+        this.length = length;
+        this.height = height;
+        this.animals = new byte[length * height];
+        this.plants = new byte[length * height];
+    }
+
+    /**
+     * Записывает содержимое клетки.
+     *
+     * @param index  индекс клетки ({@code y * length + x})
+     * @param animal порядковый номер самого многочисленного животного или {@link #EMPTY}
+     * @param plant  порядковый номер самого многочисленного растения или {@link #EMPTY}
+     */
+    public void setCell(int index, int animal, int plant)
+    {
+        animals[index] = (byte) animal;
+        plants[index] = (byte) plant;
+    }
+
+    /**
+     * Копирует текущие значения {@link Statistics} в кадр.
+     */
+    public void captureStatistics()
+    {
+        cycle = Statistics.getCurrentCycleNumber();
+        breedingCount = Statistics.getBreedingCount();
+        eatenCount = Statistics.getDeathCount(DeathCause.EATEN);
+        hungerDeathCount = Statistics.getDeathCount(DeathCause.HUNGER);
+        naturalDeathCount = Statistics.getDeathCount(DeathCause.NATURAL);
+        ateCount = Statistics.getAteCount();
+    }
+}
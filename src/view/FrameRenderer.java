@@ -0,0 +1,187 @@
+package view;
+
+import lombok.Getter;
+import util.RenderMode;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Конвейер отрисовки кадров.
+ * <p>
+ * Симуляция берёт свободный кадр ({@link #acquire()}), заполняет его и публикует ({@link #publish(Frame)}).
+ * В режиме {@link RenderMode#ASYNC} кадр отрисовывается фоновым потоком: опубликованный кадр ждёт
+ * в единственной ячейке, и если отрисовка не успевает, более новый кадр вытесняет ожидающий.
+ * Так симуляция никогда не ждёт вывода в консоль. Используются три кадра: заполняемый,
+ * ожидающий и отрисовываемый — новые объекты не создаются.
+ * <p>
+ * Публиковать кадры должен один поток.
+ */
+public final class FrameRenderer implements AutoCloseable
+{
+    private static final int FRAMES_AMOUNT = 3;
+    private static final long FLUSH_WAIT_NANOS = 1_000_000;
+
+    @Getter
+    private final RenderMode mode;
+
+    private final ArrayBlockingQueue<Frame> freeFrames = new ArrayBlockingQueue<>(FRAMES_AMOUNT);
+    private final AtomicReference<Frame> pending = new AtomicReference<>();
+
+    /**
+     * Количество опубликованных кадров и кадров, которые уже отрисованы или пропущены.
+     */
+    private long published;
+    private final AtomicLong completed = new AtomicLong();
+
+    @Getter
+    private long droppedFrames;
+
+    private final Thread thread;
+    private volatile boolean closed;
+
+    /**
+     * @param length ширина острова
+     * @param height высота острова
+     * @param mode   способ отрисовки
+     */
+    public FrameRenderer(int length, int height, RenderMode mode)
+    {
+        this.mode = mode;
+        if (mode != RenderMode.HEADLESS)
+        {
+            for (int i = 0; i < FRAMES_AMOUNT; i++)
+            {
+                freeFrames.add(new Frame(length, height));
+            }
+        }
+
+        if (mode == RenderMode.ASYNC)
+        {
+            thread = new Thread(this::renderLoop, "renderer");
+            thread.setDaemon(true);
+            thread.start();
+        }
+        else
+        {
+            thread = null;
+        }
+        Drawer.setRenderer(this);
+    }
+
+    /**
+     * @return true, если кадры нужно заполнять и публиковать
+     */
+    public boolean isEnabled()
+    {
+        return mode != RenderMode.HEADLESS;
+    }
+
+    /**
+     * @return свободный кадр для заполнения
+     */
+    public Frame acquire()
+    {
+        Frame frame = freeFrames.poll();
+        if (frame == null)
+        {
+            throw new IllegalStateException("Нет свободного кадра: предыдущий кадр не опубликован");
+        }
+        return frame;
+    }
+
+    /**
+     * Передаёт заполненный кадр на отрисовку.
+     *
+     * @param frame кадр, полученный из {@link #acquire()}
+     */
+    public void publish(Frame frame)
+    {
+        published++;
+        if (thread == null)
+        {
+            render(frame);
+            return;
+        }
+
+        Frame stale = pending.getAndSet(frame);
+        if (stale != null)
+        {
+            droppedFrames++;
+            recycle(stale);
+        }
+        LockSupport.unpark(thread);
+    }
+
+    /**
+     * Ожидает, пока все опубликованные кадры будут отрисованы или пропущены.
+     * Вызывается перед выводом итоговых сообщений, чтобы они не перемешались с кадром.
+     */
+    public void flush()
+    {
+        while (completed.get() < published)
+        {
+            LockSupport.parkNanos(FLUSH_WAIT_NANOS);
+        }
+    }
+
+    /**
+     * Дорисовывает последний опубликованный кадр и останавливает фоновый поток.
+     */
+    @Override
+    public void close()
+    {
+        flush();
+        closed = true;
+        if (thread != null)
+        {
+            LockSupport.unpark(thread);
+            try
+            {
+                thread.join();
+            }
+            catch (InterruptedException _)
+            {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private void renderLoop()
+    {
+        while (true)
+        {
+            Frame frame = pending.getAndSet(null);
+            if (frame == null)
+            {
+                if (closed)
+                {
+                    return;
+                }
+                LockSupport.park(this);
+                continue;
+            }
+            render(frame);
+        }
+    }
+
+    private void render(Frame frame)
+    {
+        try
+        {
+            Drawer.drawFrame(frame);
+        }
+        finally
+        {
+            recycle(frame);
+        }
+    }
+
+    private void recycle(Frame frame)
+    {
+        freeFrames.offer(frame);
+        completed.incrementAndGet();
+    }
+}
@@ -0,0 +1,285 @@
+package model.main;
+
+import model.Living;
+import model.properties.DeathCause;
+import model.properties.Encyclopedia;
+import model.properties.LivingBeingType;
+import model.properties.Registry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Нагрузочная проверка счётчиков {@link Statistics}: {@value #THREADS} потоков одновременно
+ * создают, скрещивают, кормят и убивают существ через обычные методы форм жизни, а итоговые
+ * смерти, размножения, питания и численность сравниваются с количеством успешных вызовов.
+ * <p>
+ * Каждый поток работает со своими клетками, поэтому общие для потоков только счётчики статистики.
+ * Статистика глобальна, поэтому сравниваются приросты от значений перед началом проверки.
+ */
+class StatisticsStressTest
+{
+    private static final int THREADS = 32;
+    private static final int ROUNDS = 200;
+    private static final int RABBITS = 20;
+    private static final int GRASS = 5;
+    private static final int MEAL_ATTEMPTS = 10;
+
+    private static final Encyclopedia[] SPECIES = Encyclopedia.values();
+    private static final DeathCause[] CAUSES = DeathCause.values();
+
+    /**
+     * Ожидаемые приросты счётчиков, собранные одним потоком по результатам вызовов.
+     */
+    private static final class Expected
+    {
+        final long[][] deaths = new long[CAUSES.length][SPECIES.length];
+        final long[] breedings = new long[SPECIES.length];
+        final long[] meals = new long[SPECIES.length];
+        final long[] population = new long[SPECIES.length];
+
+        void add(Expected other)
+        {
+            for (int i = 0; i < SPECIES.length; i++)
+            {
+                breedings[i] += other.breedings[i];
+                meals[i] += other.meals[i];
+                population[i] += other.population[i];
+                for (DeathCause cause : CAUSES)
+                {
+                    deaths[cause.ordinal()][i] += other.deaths[cause.ordinal()][i];
+                }
+            }
+        }
+    }
+
+    /**
+     * Снимок счётчиков {@link Statistics}.
+     */
+    private static final class Snapshot
+    {
+        final long[][] deaths = new long[CAUSES.length][SPECIES.length];
+        final long[] breedings = new long[SPECIES.length];
+        final long[] meals = new long[SPECIES.length];
+        final long[] population = new long[SPECIES.length];
+        final long[] categories = new long[LivingBeingType.values().length];
+        final long[] deathTotals = new long[CAUSES.length];
+        final long breedingTotal = Statistics.getBreedingCount();
+        final long mealTotal = Statistics.getAteCount();
+        final long populationTotal = Statistics.getPopulation();
+
+        Snapshot()
+        {
+            for (Encyclopedia species : SPECIES)
+            {
+                int i = species.ordinal();
+                breedings[i] = Statistics.getBreedingCount(species);
+                meals[i] = Statistics.getAteCount(species);
+                population[i] = Statistics.getPopulation(species);
+                for (DeathCause cause : CAUSES)
+                {
+                    deaths[cause.ordinal()][i] = Statistics.getDeathCount(species, cause);
+                }
+            }
+            for (LivingBeingType category : LivingBeingType.values())
+            {
+                categories[category.ordinal()] = Statistics.getPopulation(category);
+            }
+            for (DeathCause cause : CAUSES)
+            {
+                deathTotals[cause.ordinal()] = Statistics.getDeathCount(cause);
+            }
+        }
+    }
+
+    @Test
+    void countersMatchOperationsUnderContention() throws Exception
+    {
+        Snapshot before = new Snapshot();
+        List<List<Cell>> cells = new ArrayList<>();
+        for (int thread = 0; thread < THREADS; thread++)
+        {
+            cells.add(new ArrayList<>());
+        }
+        Expected grown = runConcurrently(thread -> grow(thread, cells.get(thread)));
+        assertCounters(before, grown);
+
+        Expected killed = runConcurrently(thread -> killAll(cells.get(thread)));
+        grown.add(killed);
+        assertCounters(before, grown);
+        for (Encyclopedia species : SPECIES)
+        {
+            assertEquals(before.population[species.ordinal()], Statistics.getPopulation(species),
+                    "численность " + species + " после гибели всех существ");
+        }
+    }
+
+    /**
+     * Запускает задачу в {@value #THREADS} потоках одновременно и суммирует их ожидания.
+     */
+    private static Expected runConcurrently(IntFunction<Expected> task) throws Exception
+    {
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        try
+        {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<Expected>> futures = new ArrayList<>();
+            for (int thread = 0; thread < THREADS; thread++)
+            {
+                int index = thread;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.apply(index);
+                }));
+            }
+            start.countDown();
+            Expected total = new Expected();
+            for (Future<Expected> future : futures)
+            {
+                total.add(future.get());
+            }
+            return total;
+        }
+        finally
+        {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Заселяет клетки потока, скрещивает кроликов парами и кормит голодного волка.
+     * Численности далеки от лимитов видов в клетке, поэтому гибели от перенаселения нет.
+     */
+    private static Expected grow(int thread, List<Cell> threadCells)
+    {
+        Expected expected = new Expected();
+        for (int round = 0; round < ROUNDS; round++)
+        {
+            Cell cell = new Cell(thread, round);
+            cell.resetRandom(thread * 31L + round);
+            threadCells.add(cell);
+
+            List<Living> rabbits = new ArrayList<>();
+            for (int i = 0; i < RABBITS; i++)
+            {
+                rabbits.add(create(Encyclopedia.RABBIT, cell, 1.0, expected));
+            }
+            for (int i = 0; i < GRASS; i++)
+            {
+                create(Encyclopedia.GRASS, cell, 1.0, expected);
+            }
+            for (int i = 0; i + 1 < RABBITS; i += 2)
+            {
+                if (rabbits.get(i).reproduce(rabbits.get(i + 1)))
+                {
+                    expected.breedings[Encyclopedia.RABBIT.ordinal()]++;
+                    expected.population[Encyclopedia.RABBIT.ordinal()]++;
+                }
+            }
+
+            Living wolf = create(Encyclopedia.WOLF, cell, 0.0, expected);
+            for (int i = 0; i < MEAL_ATTEMPTS; i++)
+            {
+                if (wolf.consume())
+                {
+                    // в клетке нет другой добычи волка, кроме кроликов
+                    expected.meals[Encyclopedia.WOLF.ordinal()]++;
+                    expected.deaths[DeathCause.EATEN.ordinal()][Encyclopedia.RABBIT.ordinal()]++;
+                    expected.population[Encyclopedia.RABBIT.ordinal()]--;
+                }
+            }
+        }
+        return expected;
+    }
+
+    /**
+     * Убивает всех оставшихся существ в клетках потока, чередуя причины смерти.
+     * Смерти растений в статистике не учитываются, меняется только их численность.
+     */
+    private static Expected killAll(List<Cell> threadCells)
+    {
+        Expected expected = new Expected();
+        int next = 0;
+        for (Cell cell : threadCells)
+        {
+            for (Encyclopedia species : cell.getAllLivingBeingTypes().toArray(Encyclopedia[]::new))
+            {
+                for (Living living : cell.getLivingBeings(species))
+                {
+                    DeathCause cause = CAUSES[next++ % CAUSES.length];
+                    living.die(cause);
+                    expected.population[species.ordinal()]--;
+                    if (!LivingBeingType.PLANT.getMembers().contains(species))
+                    {
+                        expected.deaths[cause.ordinal()][species.ordinal()]++;
+                    }
+                }
+            }
+        }
+        return expected;
+    }
+
+    private static Living create(Encyclopedia species, Cell cell, double saturationShare, Expected expected)
+    {
+        double saturation = Registry.getMaxSaturationLevel(species) * saturationShare;
+        expected.population[species.ordinal()]++;
+        return LifeFormFactory.create(species, cell, 1.0, saturation);
+    }
+
+    private static void assertCounters(Snapshot before, Expected expected)
+    {
+        long breedingTotal = 0;
+        long mealTotal = 0;
+        long populationTotal = 0;
+        long[] deathTotals = new long[CAUSES.length];
+        long[] categories = new long[LivingBeingType.values().length];
+        for (Encyclopedia species : SPECIES)
+        {
+            int i = species.ordinal();
+            assertEquals(before.breedings[i] + expected.breedings[i], Statistics.getBreedingCount(species),
+                    "размножения " + species);
+            assertEquals(before.meals[i] + expected.meals[i], Statistics.getAteCount(species),
+                    "питания " + species);
+            assertEquals(before.population[i] + expected.population[i], Statistics.getPopulation(species),
+                    "численность " + species);
+            for (DeathCause cause : CAUSES)
+            {
+                assertEquals(before.deaths[cause.ordinal()][i] + expected.deaths[cause.ordinal()][i],
+                        Statistics.getDeathCount(species, cause), "смерти " + species + " " + cause);
+                deathTotals[cause.ordinal()] += expected.deaths[cause.ordinal()][i];
+            }
+            breedingTotal += expected.breedings[i];
+            mealTotal += expected.meals[i];
+            populationTotal += expected.population[i];
+            for (LivingBeingType category : LivingBeingType.values())
+            {
+                if (category.getMembers().contains(species))
+                {
+                    categories[category.ordinal()] += expected.population[i];
+                }
+            }
+        }
+
+        assertEquals(before.breedingTotal + breedingTotal, Statistics.getBreedingCount(), "все размножения");
+        assertEquals(before.mealTotal + mealTotal, Statistics.getAteCount(), "все питания");
+        assertEquals(before.populationTotal + populationTotal, Statistics.getPopulation(), "вся численность");
+        for (DeathCause cause : CAUSES)
+        {
+            assertEquals(before.deathTotals[cause.ordinal()] + deathTotals[cause.ordinal()],
+                    Statistics.getDeathCount(cause), "все смерти " + cause);
+        }
+        for (LivingBeingType category : LivingBeingType.values())
+        {
+            assertEquals(before.categories[category.ordinal()] + categories[category.ordinal()],
+                    Statistics.getPopulation(category), "численность категории " + category);
+        }
+    }
+}